@@ -0,0 +1,149 @@
+package com.gutil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Word-at-a-time (SWAR) operations on single-byte encoded text (ASCII or ISO-8859-1). Bytes are processed eight at a
+ * time as little-endian longs read from the array by a {@link VarHandle}, so every check or case conversion handles a
+ * whole word with a few arithmetic instructions; the remaining tail bytes are processed one by one.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class AsciiBytes {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long SPACES = repeat(' ');
+    private static final long ABOVE_UPPER_FIRST = repeat(0x80 - 'A');
+    private static final long ABOVE_UPPER_LAST = repeat(0x80 - 'Z' - 1);
+    private static final long ABOVE_LOWER_FIRST = repeat(0x80 - 'a');
+    private static final long ABOVE_LOWER_LAST = repeat(0x80 - 'z' - 1);
+
+    /**
+     * Checks if all bytes are whitespace characters (according to {@link Character#isWhitespace(int)}). Words of
+     * spaces, which are the most common padding, are skipped without checking their bytes.
+     */
+    static boolean isBlank(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            if ((long) LONGS.get(bytes, i) != SPACES && !isBlankScalar(bytes, i, i + Long.BYTES)) {
+                return false;
+            }
+        }
+
+        return isBlankScalar(bytes, i, end);
+    }
+
+    /**
+     * Converts ASCII upper case letters to lower case (in place). Other bytes are not changed.
+     */
+    static void toLowerCase(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i);
+            long mask = caseMask(word, ABOVE_UPPER_FIRST, ABOVE_UPPER_LAST);
+            if (mask != 0) {
+                LONGS.set(bytes, i, word | mask);
+            }
+        }
+
+        for (; i < end; i++) {
+            if (bytes[i] >= 'A' && bytes[i] <= 'Z') {
+                bytes[i] += 'a' - 'A';
+            }
+        }
+    }
+
+    /**
+     * Converts ASCII lower case letters to upper case (in place). Other bytes are not changed.
+     */
+    static void toUpperCase(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i);
+            long mask = caseMask(word, ABOVE_LOWER_FIRST, ABOVE_LOWER_LAST);
+            if (mask != 0) {
+                LONGS.set(bytes, i, word & ~mask);
+            }
+        }
+
+        for (; i < end; i++) {
+            if (bytes[i] >= 'a' && bytes[i] <= 'z') {
+                bytes[i] -= 'a' - 'A';
+            }
+        }
+    }
+
+    /**
+     * Compares ranges of bytes ignoring the case of ASCII letters.
+     */
+    static boolean equalsIgnoreCase(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+        int i = 0;
+        for (; i <= length - Long.BYTES; i += Long.BYTES) {
+            long firstWord = (long) LONGS.get(first, firstOffset + i);
+            long secondWord = (long) LONGS.get(second, secondOffset + i);
+            if (firstWord != secondWord && toLowerCase(firstWord) != toLowerCase(secondWord)) {
+                return false;
+            }
+        }
+
+        for (; i < length; i++) {
+            if (toLowerCase(first[firstOffset + i]) != toLowerCase(second[secondOffset + i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the character is a whitespace according to {@link Character#isWhitespace(int)} (for characters which
+     * can be encoded by a single byte).
+     */
+    static boolean isWhitespace(int character) {
+        return character == ' ' || (character >= '\t' && character <= '\r') || (character >= 0x1C && character <= 0x1F);
+    }
+
+    private static boolean isBlankScalar(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isWhitespace(bytes[i] & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long toLowerCase(long word) {
+        return word | caseMask(word, ABOVE_UPPER_FIRST, ABOVE_UPPER_LAST);
+    }
+
+    private static byte toLowerCase(byte character) {
+        return character >= 'A' && character <= 'Z' ? (byte) (character + 'a' - 'A') : character;
+    }
+
+    /**
+     * Computes mask of the case bit (0x20) of bytes which are within the range of letters. Adding the distance to 0x80
+     * sets the high bit of every byte (without carries between bytes, as high bits are cleared first) which is not
+     * below the range; bytes which are not ASCII are excluded by their own high bits.
+     * @param word eight bytes
+     * @param aboveFirst repeated distance of the first letter to 0x80
+     * @param aboveLast repeated distance of the byte after the last letter to 0x80
+     * @return mask with bit 0x20 set in bytes which are letters
+     */
+    private static long caseMask(long word, long aboveFirst, long aboveLast) {
+        long low = word & LOW_BITS;
+        return ((low + aboveFirst) & ~(low + aboveLast) & ~word & HIGH_BITS) >>> 2;
+    }
+
+    private static long repeat(int value) {
+        return (value & 0xFFL) * 0x0101010101010101L;
+    }
+
+}
@@ -0,0 +1,345 @@
+package com.gutil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous counterpart of {@link FileUtil}. Every operation returns immediately with a {@code CompletableFuture}
+ * and is executed by the I/O executor, so callers (e.g. event loops) are never blocked by slow storage. Reading and
+ * writing of file content uses {@link AsynchronousFileChannel}.
+ * <p>
+ * Number of operations running at the same time is limited - operations above the limit are queued (without
+ * blocking the caller) and started when running operations complete. Instance should be closed after usage, which
+ * shuts down its own executor (executors given by the caller are not shut down).
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class AsyncFileUtil implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private static final Set<OpenOption> READ_OPTIONS = Set.of(StandardOpenOption.READ);
+    private static final Set<OpenOption> WRITE_OPTIONS = Set.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates asynchronous file utilities with its own I/O executor (twice as many threads as there are available
+     * processors, as threads spend most of their time waiting for storage) and the default limit of operations.
+     */
+    public AsyncFileUtil() {
+        this(createExecutor(), DEFAULT_MAX_IN_FLIGHT, true);
+    }
+
+    /**
+     * Creates asynchronous file utilities using a specific I/O executor.
+     * @param executor executor of the operations (it is not shut down by {@link #close()})
+     * @param maxInFlight maximal number of operations running at the same time
+     */
+    public AsyncFileUtil(ExecutorService executor, int maxInFlight) {
+        this(executor, maxInFlight, false);
+    }
+
+    private AsyncFileUtil(ExecutorService executor, int maxInFlight, boolean ownExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximal number of operations in flight has to be positive.");
+        }
+
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Asynchronously creates given file. See {@link FileUtil#createFile(File)}.
+     * @param file file to be created
+     * @return future completed when the file is created
+     */
+    public CompletableFuture<Void> createFile(File file) {
+        return submit(() -> {
+            FileUtil.createFile(file);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously creates given directory. See {@link FileUtil#createDirectory(File)}.
+     * @param directory directory to be created
+     * @return future completed when the directory is created
+     */
+    public CompletableFuture<Void> createDirectory(File directory) {
+        return submit(() -> {
+            FileUtil.createDirectory(directory);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously deletes given file. See {@link FileUtil#deleteFile(File)}.
+     * @param file file to be deleted
+     * @return future completed when the file is deleted
+     */
+    public CompletableFuture<Void> deleteFile(File file) {
+        return submit(() -> {
+            FileUtil.deleteFile(file);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously deletes given directory with its content. See {@link FileUtil#deleteDirectory(File)}.
+     * @param directory directory to be deleted
+     * @return future completed when the directory is deleted
+     */
+    public CompletableFuture<Void> deleteDirectory(File directory) {
+        return submit(() -> {
+            FileUtil.deleteDirectory(directory);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously renames given file. See {@link FileUtil#renameFile(File, String)}.
+     * @param file {@code File} instance to be renamed
+     * @param newName new name of the file
+     * @return future completed with {@code true} if and only if the renaming succeeded
+     */
+    public CompletableFuture<Boolean> renameFile(File file, String newName) {
+        return submit(() -> FileUtil.renameFile(file, newName));
+    }
+
+    /**
+     * Asynchronously measures size of the file or directory. See {@link FileUtil#getFileSize(File, FileSizeUnit)}.
+     * @param file {@code File} instance representing a file or a directory in the file system
+     * @param unit unit of file size (e.g. bytes, kilobytes...)
+     * @return future completed with the size of the file based on given unit
+     */
+    public CompletableFuture<Double> getFileSize(File file, FileSizeUnit unit) {
+        return submit(() -> FileUtil.getFileSize(file, unit));
+    }
+
+    /**
+     * Asynchronously reads whole content of the file.
+     * @param file file to be read
+     * @return future completed with the content of the file
+     */
+    public CompletableFuture<byte[]> readAllBytes(File file) {
+        return schedule(() -> {
+            CompletableFuture<byte[]> result = new CompletableFuture<>();
+            try {
+                AsynchronousFileChannel channel = AsynchronousFileChannel.open(file.toPath(), READ_OPTIONS, executor);
+                ByteBuffer buffer;
+                try {
+                    long size = channel.size();
+                    if (size > Integer.MAX_VALUE - 8) {
+                        throw new IOException("Cannot read " + file + " - file is too large.");
+                    }
+
+                    buffer = ByteBuffer.allocate((int) size);
+                } catch (IOException e) {
+                    channel.close();
+                    throw e;
+                }
+
+                channel.read(buffer, 0, buffer, new CompletionHandler<>() {
+                    @Override
+                    public void completed(Integer count, ByteBuffer attachment) {
+                        if (count >= 0 && buffer.hasRemaining()) {
+                            channel.read(buffer, buffer.position(), buffer, this);
+                            return;
+                        }
+
+                        closeChannel(channel, result);
+                        result.complete(buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array());
+                    }
+
+                    @Override
+                    public void failed(Throwable exception, ByteBuffer attachment) {
+                        closeChannel(channel, result);
+                        result.completeExceptionally(exception);
+                    }
+                });
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Asynchronously writes content to the file (file is created if it does not exist or truncated if it exists).
+     * @param file file to be written
+     * @param content content of the file
+     * @return future completed when whole content is written
+     */
+    public CompletableFuture<Void> write(File file, byte[] content) {
+        return schedule(() -> {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            try {
+                AsynchronousFileChannel channel = AsynchronousFileChannel.open(file.toPath(), WRITE_OPTIONS, executor);
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                channel.write(buffer, 0, buffer, new CompletionHandler<>() {
+                    @Override
+                    public void completed(Integer count, ByteBuffer attachment) {
+                        if (buffer.hasRemaining()) {
+                            channel.write(buffer, buffer.position(), buffer, this);
+                            return;
+                        }
+
+                        closeChannel(channel, result);
+                        result.complete(null);
+                    }
+
+                    @Override
+                    public void failed(Throwable exception, ByteBuffer attachment) {
+                        closeChannel(channel, result);
+                        result.completeExceptionally(exception);
+                    }
+                });
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Returns number of operations which are currently running (queued operations are not included).
+     * @return number of running operations
+     */
+    public int getRunningOperations() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Shuts down own executor (if executor was not given by the caller). Running operations are completed.
+     */
+    @Override
+    public void close() {
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Schedules blocking operation to be executed by the I/O executor.
+     * @param operation operation to be executed
+     * @return future of the result of the operation
+     */
+    private <T> CompletableFuture<T> submit(IOOperation<T> operation) {
+        return schedule(() -> {
+            try {
+                return CompletableFuture.completedFuture(operation.execute());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * Schedules operation to be started by the I/O executor when number of running operations is below the limit.
+     * @param operation operation which starts and returns future of its result
+     * @return future of the result of the operation
+     */
+    private <T> CompletableFuture<T> schedule(Supplier<CompletableFuture<T>> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(() -> {
+            try {
+                executor.execute(() -> {
+                    CompletableFuture<T> started;
+                    try {
+                        started = operation.get();
+                    } catch (RuntimeException e) {
+                        release();
+                        result.completeExceptionally(e);
+                        return;
+                    }
+
+                    started.whenComplete((value, exception) -> {
+                        release();
+                        if (exception != null) {
+                            result.completeExceptionally(exception instanceof CompletionException ? exception.getCause() : exception);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+                });
+            } catch (RejectedExecutionException e) {
+                release();
+                result.completeExceptionally(e);
+            }
+        });
+        startPending();
+        return result;
+    }
+
+    private void release() {
+        permits.release();
+        startPending();
+    }
+
+    /**
+     * Starts queued operations while number of running operations is below the limit.
+     */
+    private void startPending() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Runnable operation = pending.poll();
+            if (operation == null) {
+                permits.release();
+            } else {
+                operation.run();
+            }
+        }
+    }
+
+    private static void closeChannel(AsynchronousFileChannel channel, CompletableFuture<?> result) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), runnable -> {
+            Thread thread = new Thread(runnable, "async-file-util");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Blocking file operation which can throw checked exceptions.
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    private interface IOOperation<T> {
+
+        T execute() throws Exception;
+
+    }
+
+}
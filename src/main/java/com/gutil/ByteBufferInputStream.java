@@ -0,0 +1,56 @@
+package com.gutil;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@code InputStream} reading remaining bytes of a {@code ByteBuffer} (e.g. memory-mapped file) without copying them
+ * into an intermediate array. Position of the original buffer is not changed.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates stream reading remaining bytes of the buffer (from its position to its limit).
+     * @param buffer buffer to be read
+     */
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.gutil;
+
+import java.util.List;
+
+/**
+ * Differences between two snapshots of the same directory, computed by
+ * {@link DirectorySnapshot#diff(DirectorySnapshot)}. Paths are relative to the directory (with {@code /} separators)
+ * and sorted.
+ * @param added paths of files which exist only in the newer snapshot
+ * @param removed paths of files which exist only in the older snapshot
+ * @param modified paths of files which exist in both snapshots, but with different content
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public record DirectoryDiff(List<String> added, List<String> removed, List<String> modified) {
+
+    /**
+     * Checks if there are no differences.
+     * @return {@code true} if snapshots describe the same files
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.gutil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of directory sizes for directories which are measured repeatedly. Size of every directory is kept as a sum of
+ * its own files and sizes of its subdirectories, so after a change only the changed directory has to be listed again
+ * and sums of its ancestors are recomputed from cached values.
+ * <p>
+ * Changes are detected by the {@link WatchService}, which makes repeated queries for unchanged directories O(1). If
+ * the watch service is disabled or not available, modification times of cached directories are checked on every query
+ * instead - it costs a single file system call per cached directory, but modifications of existing files which do not
+ * change modification time of their directory are not detected.
+ * <p>
+ * Number of cached directories is limited - the least recently used directories are evicted (and sizes of their
+ * ancestors are recomputed on the next query). The limit should be bigger than the number of directories in measured
+ * trees. Cache is thread-safe and should be closed after usage.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class DirectorySizeCache implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_DIRECTORIES = 100_000;
+
+    private final Map<Path, Entry> entries;
+    private WatchService watchService;
+
+    /**
+     * Creates cache with the default limit of directories using the {@code WatchService} (if available).
+     */
+    public DirectorySizeCache() {
+        this(DEFAULT_MAX_DIRECTORIES, true);
+    }
+
+    /**
+     * Creates cache with a specific limit of cached directories.
+     * @param maxDirectories maximal number of cached directories
+     * @param useWatchService {@code true} if changes should be detected by the {@code WatchService}, {@code false}
+     *                        if modification times of directories should be checked instead
+     */
+    public DirectorySizeCache(int maxDirectories, boolean useWatchService) {
+        this.entries = new LruCache<>(maxDirectories) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+                boolean evicted = super.removeEldestEntry(eldest);
+                if (evicted) {
+                    evict(eldest.getValue());
+                }
+
+                return evicted;
+            }
+        };
+
+        if (useWatchService) {
+            try {
+                this.watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                this.watchService = null;
+            }
+        }
+    }
+
+    /**
+     * Returns size of the directory using given unit from {@link com.gutil.FileSizeUnit} enum. For files which are
+     * not directories {@link FileUtil#getFileSize(File, FileSizeUnit)} is returned (files are not cached).
+     * @param directory {@code File} instance representing a directory in the file system
+     * @param unit unit of file size (e.g. bytes, kilobytes...)
+     * @return size of the directory based on given unit
+     */
+    public synchronized double getSize(File directory, FileSizeUnit unit) {
+        if (!directory.isDirectory()) {
+            return FileUtil.getFileSize(directory, unit);
+        }
+
+        processEvents();
+        Path path = directory.toPath().toAbsolutePath().normalize();
+        return FileSizeUnit.convert(ensure(path, null).totalBytes, FileSizeUnit.BYTE, unit);
+    }
+
+    /**
+     * Forces the directory to be measured again on the next query (e.g. after changes which could not be detected).
+     * @param directory {@code File} instance representing a directory in the file system
+     */
+    public synchronized void invalidate(File directory) {
+        Entry entry = entries.get(directory.toPath().toAbsolutePath().normalize());
+        if (entry != null) {
+            markStale(entry);
+        }
+    }
+
+    /**
+     * Returns number of currently cached directories.
+     * @return number of cached directories
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks if changes are detected by the {@code WatchService}.
+     * @return {@code true} if watch service is used, {@code false} if modification times are checked instead
+     */
+    public synchronized boolean isWatching() {
+        return watchService != null;
+    }
+
+    /**
+     * Clears the cache and closes the {@code WatchService}.
+     */
+    @Override
+    public synchronized void close() {
+        entries.clear();
+        stopWatching();
+    }
+
+    /**
+     * Returns up-to-date entry of the directory. Only stale directories are listed again, sums of other directories
+     * are taken from the cache.
+     * @param directory path of the directory
+     * @param parent entry of the parent directory (can be null if directory is measured directly)
+     * @return entry of the directory
+     */
+    private Entry ensure(Path directory, Entry parent) {
+        Entry entry = entries.get(directory);
+        if (entry == null) {
+            entry = new Entry(directory);
+            entries.put(directory, entry);
+            register(entry);
+        } else if (watchService == null && isModified(entry)) {
+            entry.stale = true;
+        }
+
+        if (parent != null) {
+            entry.parent = parent;
+        }
+
+        if (entry.stale) {
+            scan(entry);
+            entry.totalStale = true;
+        }
+
+        if (entry.totalStale || watchService == null) {
+            long totalBytes = entry.ownBytes;
+            for (Path subdirectory : entry.subdirectories) {
+                totalBytes += ensure(subdirectory, entry).totalBytes;
+            }
+
+            entry.totalBytes = totalBytes;
+            entry.totalStale = false;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Lists the directory and sums sizes of its own files. Attributes of every file are read only once. Entries which
+     * cannot be read are skipped.
+     * @param entry entry of the directory
+     */
+    private void scan(Entry entry) {
+        entry.ownBytes = 0;
+        entry.subdirectories = new ArrayList<>();
+        entry.lastModified = getLastModifiedTime(entry.directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry.directory)) {
+            for (Path child : stream) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        entry.subdirectories.add(child);
+                    } else if (attributes.isRegularFile()) {
+                        entry.ownBytes += attributes.size();
+                    }
+                } catch (IOException e) {
+                    // entries which cannot be read are skipped
+                }
+            }
+        } catch (IOException e) {
+            // directories which cannot be listed are treated as empty
+        }
+
+        entry.stale = false;
+    }
+
+    /**
+     * Marks directories changed since the last query as stale (based on events from the {@code WatchService}).
+     */
+    private void processEvents() {
+        if (watchService == null) {
+            return;
+        }
+
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            key.pollEvents();
+            Entry entry = entries.get((Path) key.watchable());
+            if (entry != null) {
+                markStale(entry);
+            }
+
+            if (!key.reset() && entry != null) {
+                entries.remove(entry.directory);
+            }
+        }
+    }
+
+    private void register(Entry entry) {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            entry.key = entry.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (NoSuchFileException e) {
+            // directory was deleted in the meantime - it will be dropped from its parent on the next scan
+        } catch (IOException e) {
+            // e.g. limit of watched directories was reached - modification times are checked from now on
+            stopWatching();
+        }
+    }
+
+    private void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close watch service.", e);
+        } finally {
+            watchService = null;
+        }
+    }
+
+    private void evict(Entry entry) {
+        if (entry.key != null) {
+            entry.key.cancel();
+        }
+
+        markTotalStale(entry.parent);
+    }
+
+    private static void markStale(Entry entry) {
+        entry.stale = true;
+        markTotalStale(entry);
+    }
+
+    private static void markTotalStale(Entry entry) {
+        for (Entry current = entry; current != null; current = current.parent) {
+            current.totalStale = true;
+        }
+    }
+
+    private static boolean isModified(Entry entry) {
+        FileTime lastModified = getLastModifiedTime(entry.directory);
+        return lastModified == null || !lastModified.equals(entry.lastModified);
+    }
+
+    private static FileTime getLastModifiedTime(Path directory) {
+        try {
+            return Files.getLastModifiedTime(directory);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cached state of a single directory.
+     */
+    private static class Entry {
+
+        private final Path directory;
+        private Entry parent;
+        private WatchKey key;
+        private FileTime lastModified;
+        private List<Path> subdirectories = List.of();
+        private long ownBytes;
+        private long totalBytes;
+        private boolean stale = true;
+        private boolean totalStale = true;
+
+        private Entry(Path directory) {
+            this.directory = directory;
+        }
+
+    }
+
+}
@@ -0,0 +1,366 @@
+package com.gutil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable snapshot of regular files inside of the directory (recursively): their paths (relative to the directory,
+ * with {@code /} separators), sizes, modification times and optionally hashes of their content. Snapshots are taken
+ * by {@link FileUtil#takeSnapshot(File, FileHashAlgorithm)} and compared by {@link #diff(DirectorySnapshot)}.
+ * <p>
+ * Entries are kept sorted by path in parallel arrays, so a snapshot of millions of files needs only a few objects per
+ * file and two snapshots are compared by a single merge pass (large snapshots are merged in parallel). Snapshots can
+ * be stored in a compact binary form (paths are prefix-compressed and numbers are variable-length encoded).
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class DirectorySnapshot {
+
+    private static final int MAGIC = 0x44534E50;
+    private static final int FORMAT_VERSION = 1;
+    private static final int PARALLEL_DIFF_SIZE = 65_536;
+
+    private final String[] paths;
+    private final long[] sizes;
+    private final long[] lastModified;
+    private final byte[][] hashes;
+    private final FileHashAlgorithm algorithm;
+
+    /**
+     * Creates snapshot from entries sorted by path.
+     * @param paths relative paths of the files
+     * @param sizes sizes of the files in bytes
+     * @param lastModified modification times of the files in milliseconds since the epoch
+     * @param hashes hashes of the files (null if snapshot does not contain hashes)
+     * @param algorithm algorithm of the hashes (null if snapshot does not contain hashes)
+     */
+    DirectorySnapshot(String[] paths, long[] sizes, long[] lastModified, byte[][] hashes, FileHashAlgorithm algorithm) {
+        this.paths = paths;
+        this.sizes = sizes;
+        this.lastModified = lastModified;
+        this.hashes = hashes;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Reads snapshot stored by {@link #writeTo(OutputStream)}.
+     * @param input stream containing the snapshot (it is not closed)
+     * @return read snapshot
+     * @throws IOException if snapshot cannot be read or has invalid format
+     */
+    public static DirectorySnapshot readFrom(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC || data.readUnsignedByte() != FORMAT_VERSION) {
+            throw new IOException("Invalid format of the directory snapshot.");
+        }
+
+        String algorithmName = data.readUTF();
+        FileHashAlgorithm algorithm = algorithmName.isEmpty() ? null : FileHashAlgorithm.valueOf(algorithmName);
+        int size = (int) readVarLong(data);
+        String[] paths = new String[size];
+        long[] sizes = new long[size];
+        long[] lastModified = new long[size];
+        byte[][] hashes = algorithm == null ? null : new byte[size][];
+        String previous = "";
+        for (int i = 0; i < size; i++) {
+            int sharedLength = (int) readVarLong(data);
+            byte[] suffix = new byte[(int) readVarLong(data)];
+            data.readFully(suffix);
+            paths[i] = previous.substring(0, sharedLength) + new String(suffix, StandardCharsets.UTF_8);
+            sizes[i] = readVarLong(data);
+            lastModified[i] = data.readLong();
+            if (hashes != null) {
+                hashes[i] = new byte[(int) readVarLong(data)];
+                data.readFully(hashes[i]);
+            }
+
+            previous = paths[i];
+        }
+
+        return new DirectorySnapshot(paths, sizes, lastModified, hashes, algorithm);
+    }
+
+    /**
+     * Reads snapshot stored by {@link #writeTo(File)}.
+     * @param file file containing the snapshot
+     * @return read snapshot
+     * @throws IOException if snapshot cannot be read or has invalid format
+     */
+    public static DirectorySnapshot readFrom(File file) throws IOException {
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            return readFrom(input);
+        }
+    }
+
+    /**
+     * Stores snapshot in the compact binary form.
+     * @param output stream to which snapshot is written (it is flushed, but not closed)
+     * @throws IOException if snapshot cannot be written
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+        data.writeUTF(algorithm == null ? "" : algorithm.name());
+        writeVarLong(data, paths.length);
+        String previous = "";
+        for (int i = 0; i < paths.length; i++) {
+            int sharedLength = getSharedPrefixLength(previous, paths[i]);
+            byte[] suffix = paths[i].substring(sharedLength).getBytes(StandardCharsets.UTF_8);
+            writeVarLong(data, sharedLength);
+            writeVarLong(data, suffix.length);
+            data.write(suffix);
+            writeVarLong(data, sizes[i]);
+            data.writeLong(lastModified[i]);
+            if (hashes != null) {
+                writeVarLong(data, hashes[i].length);
+                data.write(hashes[i]);
+            }
+
+            previous = paths[i];
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Stores snapshot in the compact binary form. See {@link #writeTo(OutputStream)}.
+     * @param file file to which snapshot is written (it is created or replaced)
+     * @throws IOException if snapshot cannot be written
+     */
+    public void writeTo(File file) throws IOException {
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            writeTo(output);
+        }
+    }
+
+    /**
+     * Computes differences between this (older) snapshot and the newer one. Files are compared by hashes if both
+     * snapshots contain hashes of the same algorithm (and by sizes and modification times otherwise).
+     * @param newer newer snapshot of the same directory
+     * @return differences between the snapshots
+     */
+    public DirectoryDiff diff(DirectorySnapshot newer) {
+        DirectoryDiff diff = ForkJoinPool.commonPool().invoke(new DiffTask(this, newer, 0, size(), 0, newer.size()));
+        return new DirectoryDiff(Collections.unmodifiableList(diff.added()), Collections.unmodifiableList(diff.removed()),
+                Collections.unmodifiableList(diff.modified()));
+    }
+
+    /**
+     * Returns number of files in the snapshot.
+     * @return number of files
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Returns index of the file with given relative path.
+     * @param path path of the file relative to the directory (with {@code /} separators)
+     * @return index of the file or negative value if there is no such file in the snapshot
+     */
+    public int indexOf(String path) {
+        int index = Arrays.binarySearch(paths, path);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns relative path of the file (files are sorted by their paths).
+     * @param index index of the file
+     * @return path of the file relative to the directory (with {@code /} separators)
+     */
+    public String getPath(int index) {
+        return paths[index];
+    }
+
+    /**
+     * Returns size of the file.
+     * @param index index of the file
+     * @return size of the file in bytes
+     */
+    public long getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Returns modification time of the file.
+     * @param index index of the file
+     * @return modification time in milliseconds since the epoch
+     */
+    public long getLastModified(int index) {
+        return lastModified[index];
+    }
+
+    /**
+     * Returns hash of the file content.
+     * @param index index of the file
+     * @return hash of the file (null if snapshot does not contain hashes)
+     */
+    public byte[] getHash(int index) {
+        return hashes == null ? null : hashes[index].clone();
+    }
+
+    /**
+     * Returns algorithm of hashes of the files.
+     * @return hash algorithm (null if snapshot does not contain hashes)
+     */
+    public FileHashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns hash of the file if it is not modified since this snapshot was taken (based on its size and
+     * modification time), so it does not need to be hashed again.
+     * @param path relative path of the file
+     * @param size current size of the file
+     * @param lastModified current modification time of the file
+     * @return hash of the file or null if file is not in the snapshot, was modified or snapshot does not contain hashes
+     */
+    byte[] getUnchangedHash(String path, long size, long lastModified) {
+        int index = indexOf(path);
+        if (hashes == null || index < 0 || sizes[index] != size || this.lastModified[index] != lastModified) {
+            return null;
+        }
+
+        return hashes[index];
+    }
+
+    private boolean isModified(int index, DirectorySnapshot newer, int newerIndex) {
+        if (hashes != null && newer.hashes != null && algorithm == newer.algorithm) {
+            return !Arrays.equals(hashes[index], newer.hashes[newerIndex]);
+        }
+
+        return sizes[index] != newer.sizes[newerIndex] || lastModified[index] != newer.lastModified[newerIndex];
+    }
+
+    private static int getSharedPrefixLength(String previous, String path) {
+        int length = Math.min(previous.length(), path.length());
+        int shared = 0;
+        while (shared < length && previous.charAt(shared) == path.charAt(shared)) {
+            shared++;
+        }
+
+        if (shared > 0 && Character.isHighSurrogate(path.charAt(shared - 1))) {
+            shared--;
+        }
+
+        return shared;
+    }
+
+    private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        data.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int element = data.readUnsignedByte();
+            value |= (long) (element & 0x7F) << shift;
+            if ((element & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid format of the directory snapshot.");
+    }
+
+    /**
+     * Task merging sorted ranges of two snapshots. Large ranges are split at the middle path of the larger range (the
+     * other range is split at the same path found by binary search), so both halves can be merged in parallel.
+     */
+    private static class DiffTask extends RecursiveTask<DirectoryDiff> {
+
+        private final DirectorySnapshot older;
+        private final DirectorySnapshot newer;
+        private final int olderFrom;
+        private final int olderTo;
+        private final int newerFrom;
+        private final int newerTo;
+
+        private DiffTask(DirectorySnapshot older, DirectorySnapshot newer, int olderFrom, int olderTo, int newerFrom, int newerTo) {
+            this.older = older;
+            this.newer = newer;
+            this.olderFrom = olderFrom;
+            this.olderTo = olderTo;
+            this.newerFrom = newerFrom;
+            this.newerTo = newerTo;
+        }
+
+        @Override
+        protected DirectoryDiff compute() {
+            if (olderTo - olderFrom + newerTo - newerFrom > PARALLEL_DIFF_SIZE) {
+                int olderMiddle;
+                int newerMiddle;
+                if (olderTo - olderFrom >= newerTo - newerFrom) {
+                    olderMiddle = (olderFrom + olderTo) >>> 1;
+                    newerMiddle = findSplit(newer.paths, newerFrom, newerTo, older.paths[olderMiddle]);
+                } else {
+                    newerMiddle = (newerFrom + newerTo) >>> 1;
+                    olderMiddle = findSplit(older.paths, olderFrom, olderTo, newer.paths[newerMiddle]);
+                }
+
+                DiffTask second = new DiffTask(older, newer, olderMiddle, olderTo, newerMiddle, newerTo);
+                second.fork();
+                DirectoryDiff first = new DiffTask(older, newer, olderFrom, olderMiddle, newerFrom, newerMiddle).compute();
+                return concatenate(first, second.join());
+            }
+
+            List<String> added = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            List<String> modified = new ArrayList<>();
+            int olderIndex = olderFrom;
+            int newerIndex = newerFrom;
+            while (olderIndex < olderTo || newerIndex < newerTo) {
+                int comparison = olderIndex == olderTo ? 1 : newerIndex == newerTo ? -1
+                        : older.paths[olderIndex].compareTo(newer.paths[newerIndex]);
+                if (comparison < 0) {
+                    removed.add(older.paths[olderIndex++]);
+                } else if (comparison > 0) {
+                    added.add(newer.paths[newerIndex++]);
+                } else {
+                    if (older.isModified(olderIndex, newer, newerIndex)) {
+                        modified.add(older.paths[olderIndex]);
+                    }
+
+                    olderIndex++;
+                    newerIndex++;
+                }
+            }
+
+            return new DirectoryDiff(added, removed, modified);
+        }
+
+        private static int findSplit(String[] paths, int from, int to, String path) {
+            int index = Arrays.binarySearch(paths, from, to, path);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private static DirectoryDiff concatenate(DirectoryDiff first, DirectoryDiff second) {
+            first.added().addAll(second.added());
+            first.removed().addAll(second.removed());
+            first.modified().addAll(second.modified());
+            return first;
+        }
+
+    }
+
+}
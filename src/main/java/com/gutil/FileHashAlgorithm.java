@@ -0,0 +1,113 @@
+package com.gutil;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Enum representing algorithms of file hashing supported by {@link FileUtil#hash(java.io.File, FileHashAlgorithm)}
+ * and related methods:
+ * <ul>
+ *  <li>Checksums: CRC32, CRC32C (hardware accelerated on most platforms) and Adler-32 (4 bytes)</li>
+ *  <li>Cryptographic digests: MD5 (16 bytes), SHA-1 (20 bytes), SHA-256 (32 bytes) and SHA-512 (64 bytes)</li>
+ *  <li>Non-cryptographic hash: XXH64 with seed 0 (8 bytes)</li>
+ * </ul>
+ * Checksums are returned in big-endian order (the same as hexadecimal representation of their values).
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public enum FileHashAlgorithm {
+
+    CRC32(() -> new ChecksumHasher(new CRC32())),
+    CRC32C(() -> new ChecksumHasher(new CRC32C())),
+    ADLER32(() -> new ChecksumHasher(new Adler32())),
+    MD5(() -> new DigestHasher("MD5")),
+    SHA_1(() -> new DigestHasher("SHA-1")),
+    SHA_256(() -> new DigestHasher("SHA-256")),
+    SHA_512(() -> new DigestHasher("SHA-512")),
+    XXH64(XXHash64::new),
+    ;
+
+    private final Supplier<Hasher> hasherFactory;
+
+    private FileHashAlgorithm(Supplier<Hasher> hasherFactory) {
+        this.hasherFactory = hasherFactory;
+    }
+
+    /**
+     * Creates a new hasher of the algorithm. Hashers are not thread-safe.
+     * @return new hasher
+     */
+    Hasher newHasher() {
+        return hasherFactory.get();
+    }
+
+    /**
+     * Incremental computation of a hash.
+     */
+    interface Hasher {
+
+        /**
+         * Updates the hash with remaining bytes of the buffer (position of the buffer is moved to its limit).
+         * @param buffer bytes to be hashed
+         */
+        void update(ByteBuffer buffer);
+
+        /**
+         * Completes computation of the hash.
+         * @return hash of all given bytes
+         */
+        byte[] digest();
+
+    }
+
+    private static class ChecksumHasher implements Hasher {
+
+        private final Checksum checksum;
+
+        private ChecksumHasher(Checksum checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            checksum.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return ByteBuffer.allocate(Integer.BYTES).putInt((int) checksum.getValue()).array();
+        }
+
+    }
+
+    private static class DigestHasher implements Hasher {
+
+        private final MessageDigest digest;
+
+        private DigestHasher(String algorithm) {
+            try {
+                this.digest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Algorithm " + algorithm + " is not available.", e);
+            }
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            digest.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return digest.digest();
+        }
+
+    }
+
+}
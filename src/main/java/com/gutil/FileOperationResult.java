@@ -0,0 +1,24 @@
+package com.gutil;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Result of a single file operation performed by batch methods of {@link FileUtil} (e.g.
+ * {@link FileUtil#createFiles(java.util.Collection)}).
+ * @param file file on which the operation was performed
+ * @param error error which occurred during the operation (null if operation succeeded)
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public record FileOperationResult(File file, IOException error) {
+
+    /**
+     * Checks if the operation succeeded.
+     * @return {@code true} if operation succeeded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.gutil;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.function.Predicate;
+
+/**
+ * Criteria of the file search performed by {@link FileUtil#find(java.io.File, FileSearch)}. Search finds regular files
+ * whose paths relative to the searched directory match the pattern (all files by default) and whose sizes and
+ * modification times are within given bounds. Directories matched by the prune predicate and directories deeper
+ * than the maximal depth are not traversed at all.
+ * <p>
+ * Criteria are configured fluently, e.g.
+ * {@code FileSearch.glob("**.xml").minSize(1024).maxDepth(3).prune(path -> path.endsWith(".git"))}. Instance should
+ * not be modified while a search is in progress.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class FileSearch {
+
+    private final PathMatcher matcher;
+    private long minSize = 0;
+    private long maxSize = Long.MAX_VALUE;
+    private Instant modifiedAfter;
+    private Instant modifiedBefore;
+    private int maxDepth = Integer.MAX_VALUE;
+    private Predicate<Path> prune = path -> false;
+
+    private FileSearch(PathMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Creates criteria matching all regular files.
+     * @return new search criteria
+     */
+    public static FileSearch all() {
+        return new FileSearch(null);
+    }
+
+    /**
+     * Creates criteria matching relative paths of files by a glob pattern (see
+     * {@link java.nio.file.FileSystem#getPathMatcher(String)} for the syntax; e.g. {@code *.txt} matches files directly
+     * in the searched directory and {@code **.txt} matches files at any depth).
+     * @param glob glob pattern
+     * @return new search criteria
+     */
+    public static FileSearch glob(String glob) {
+        return new FileSearch(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+    }
+
+    /**
+     * Creates criteria matching relative paths of files by a regular expression (separators of the paths are
+     * platform specific).
+     * @param regex regular expression
+     * @return new search criteria
+     */
+    public static FileSearch regex(String regex) {
+        return new FileSearch(FileSystems.getDefault().getPathMatcher("regex:" + regex));
+    }
+
+    /**
+     * Creates criteria matching relative paths of files by a custom matcher.
+     * @param matcher matcher of relative paths
+     * @return new search criteria
+     */
+    public static FileSearch matching(PathMatcher matcher) {
+        return new FileSearch(matcher);
+    }
+
+    /**
+     * Limits the search to files with at least given size.
+     * @param minSize minimal size in bytes (inclusive)
+     * @return these criteria
+     */
+    public FileSearch minSize(long minSize) {
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * Limits the search to files with at most given size.
+     * @param maxSize maximal size in bytes (inclusive)
+     * @return these criteria
+     */
+    public FileSearch maxSize(long maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Limits the search to files modified after given instant.
+     * @param instant instant (exclusive)
+     * @return these criteria
+     */
+    public FileSearch modifiedAfter(Instant instant) {
+        this.modifiedAfter = instant;
+        return this;
+    }
+
+    /**
+     * Limits the search to files modified before given instant.
+     * @param instant instant (exclusive)
+     * @return these criteria
+     */
+    public FileSearch modifiedBefore(Instant instant) {
+        this.modifiedBefore = instant;
+        return this;
+    }
+
+    /**
+     * Limits depth of the search - files directly in the searched directory have depth 1.
+     * @param maxDepth maximal depth of found files
+     * @return these criteria
+     */
+    public FileSearch maxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximal depth cannot be negative.");
+        }
+
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Excludes whole subtrees from the search - directories matched by the predicate are not traversed.
+     * @param prune predicate of directory paths (resolved against the searched directory)
+     * @return these criteria
+     */
+    public FileSearch prune(Predicate<Path> prune) {
+        this.prune = prune;
+        return this;
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Checks if the directory should be traversed.
+     * @param directory path of the directory
+     * @param depth depth of the directory
+     * @return {@code true} if files inside the directory can be found
+     */
+    boolean isTraversed(Path directory, int depth) {
+        return depth < maxDepth && !prune.test(directory);
+    }
+
+    /**
+     * Checks if the regular file matches the criteria (cheap checks of attributes are performed first).
+     * @param relativePath path of the file relative to the searched directory
+     * @param attributes attributes of the file
+     * @return {@code true} if file matches the criteria
+     */
+    boolean matches(Path relativePath, BasicFileAttributes attributes) {
+        long size = attributes.size();
+        if (size < minSize || size > maxSize) {
+            return false;
+        }
+
+        if (modifiedAfter != null || modifiedBefore != null) {
+            Instant modified = attributes.lastModifiedTime().toInstant();
+            if ((modifiedAfter != null && !modified.isAfter(modifiedAfter)) || (modifiedBefore != null && !modified.isBefore(modifiedBefore))) {
+                return false;
+            }
+        }
+
+        return matcher == null || matcher.matches(relativePath);
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.gutil;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazy spliterator of files found by the {@link FileSearch}. Directories are listed only when their files are needed -
+ * found files of the listed directory are buffered and subdirectories are kept on a stack of pending directories.
+ * Spliterator is split by handing over half of the pending directories, so parallel streams traverse different
+ * subtrees concurrently. Symbolic links are not followed and entries which cannot be read are skipped.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class FileSearchSpliterator implements Spliterator<Path> {
+
+    private final Path root;
+    private final FileSearch search;
+    private final Deque<PendingDirectory> pending;
+    private final Deque<Path> found = new ArrayDeque<>();
+
+    /**
+     * Creates spliterator of files inside of the directory.
+     * @param root searched directory
+     * @param search criteria of the search
+     */
+    FileSearchSpliterator(Path root, FileSearch search) {
+        this(root, search, new ArrayDeque<>());
+        if (search.getMaxDepth() > 0) {
+            pending.push(new PendingDirectory(root, 0));
+        }
+    }
+
+    private FileSearchSpliterator(Path root, FileSearch search, Deque<PendingDirectory> pending) {
+        this.root = root;
+        this.search = search;
+        this.pending = pending;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Path> action) {
+        while (found.isEmpty()) {
+            if (pending.isEmpty()) {
+                return false;
+            }
+
+            list(pending.pop());
+        }
+
+        action.accept(found.poll());
+        return true;
+    }
+
+    @Override
+    public Spliterator<Path> trySplit() {
+        if (pending.size() == 1 && found.isEmpty()) {
+            list(pending.pop());
+        }
+
+        int size = pending.size();
+        if (size < 2) {
+            return null;
+        }
+
+        Deque<PendingDirectory> split = new ArrayDeque<>();
+        for (int i = 0; i < size / 2; i++) {
+            split.add(pending.pollLast());
+        }
+
+        return new FileSearchSpliterator(root, search, split);
+    }
+
+    @Override
+    public long estimateSize() {
+        return pending.isEmpty() ? found.size() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | DISTINCT;
+    }
+
+    /**
+     * Lists the directory - matching files are buffered and traversed subdirectories become pending.
+     * @param directory directory to be listed
+     */
+    private void list(PendingDirectory directory) {
+        int depth = directory.depth() + 1;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.path())) {
+            for (Path entry : stream) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        if (search.isTraversed(entry, depth)) {
+                            pending.push(new PendingDirectory(entry, depth));
+                        }
+                    } else if (attributes.isRegularFile() && search.matches(root.relativize(entry), attributes)) {
+                        found.add(entry);
+                    }
+                } catch (IOException e) {
+                    // entries which cannot be read are skipped
+                }
+            }
+        } catch (IOException e) {
+            // directories which cannot be listed are treated as empty
+        }
+    }
+
+    /**
+     * Directory which is not listed yet.
+     */
+    private record PendingDirectory(Path path, int depth) {
+
+    }
+
+}
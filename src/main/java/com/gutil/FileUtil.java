@@ -2,8 +2,45 @@ package com.gutil;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class containing utility methods for file system.
@@ -12,6 +49,14 @@ import java.nio.file.Path;
  */
 public class FileUtil {
 
+    private static final int PARALLEL_BATCH_SIZE = 256;
+    private static final int PARALLEL_COPY_BATCH_SIZE = 16;
+    private static final long MIN_PARALLEL_PART_SIZE = 1_048_576L;
+    private static final long MAPPING_THRESHOLD = 1_048_576L;
+    private static final int HASH_BUFFER_SIZE = 65_536;
+    private static final int MAX_CHUNKS = Integer.MAX_VALUE - 8;
+    private static final ThreadLocal<ByteBuffer> HASH_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(HASH_BUFFER_SIZE));
+
     /**
      * Checks if there is an actual file in file system with given path.
      * @param filePath path of the file
@@ -76,7 +121,8 @@ public class FileUtil {
     }
 
     /**
-     * Deletes given directory (and all nested directories and files inside) from the file system.
+     * Deletes given directory (and all nested directories and files inside) from the file system. Symbolic links
+     * inside the directory are deleted, but not followed.
      * @param directory directory to be deleted
      * @throws IOException if {@code File} does not exist or is not a directory
      */
@@ -85,19 +131,56 @@ public class FileUtil {
             throw new IOException("Cannot delete " + directory + " - not a directory.");
         }
 
-        File[] subFiles = directory.listFiles();
-        if (subFiles != null) {
-            for (File subFile : subFiles) {
-                if (subFile.isDirectory()) {
-                    deleteDirectory(subFile);
-                    continue;
+        Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exception) throws IOException {
+                if (exception != null) {
+                    throw exception;
                 }
 
-                deleteFile(subFile);
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
             }
+        });
+    }
+
+    /**
+     * Deletes given directory (and all nested directories and files inside) from the file system using the common
+     * {@code ForkJoinPool}. Subdirectories and large groups of files are deleted in parallel, which is much faster for
+     * wide directory trees. Symbolic links inside the directory are deleted, but not followed.
+     * @param directory directory to be deleted
+     * @throws IOException if {@code File} does not exist or is not a directory
+     */
+    public static void deleteDirectoryParallel(File directory) throws IOException {
+        deleteDirectoryParallel(directory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Deletes given directory (and all nested directories and files inside) from the file system using the specific
+     * {@code ForkJoinPool}. See {@link #deleteDirectoryParallel(File)} for details.
+     * @param directory directory to be deleted
+     * @param pool pool used for deletion
+     * @throws IOException if {@code File} does not exist or is not a directory
+     */
+    public static void deleteDirectoryParallel(File directory, ForkJoinPool pool) throws IOException {
+        if (!directory.isDirectory()) {
+            throw new IOException("Cannot delete " + directory + " - not a directory.");
+        }
+
+        Path path = directory.toPath();
+        try {
+            pool.invoke(new DeleteTask(listEntries(path)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        Files.delete(directory.toPath());
+        Files.delete(path);
     }
 
     /**
@@ -121,6 +204,522 @@ public class FileUtil {
         return file.renameTo(path.toFile());
     }
 
+    /**
+     * Creates many files at once using the common {@code ForkJoinPool}. Files are grouped by their parent directories
+     * - every parent directory is created (if needed) only once and files of the same directory are created together.
+     * Files are created without additional existence checks, so a file which already exists is reported as failed.
+     * @param files files to be created
+     * @return results of the operation for every file (in the order of given collection)
+     */
+    public static List<FileOperationResult> createFiles(Collection<File> files) {
+        File[] array = files.toArray(new File[0]);
+        Path[] paths = toAbsolutePaths(array);
+        Path[] parents = Arrays.stream(paths).map(Path::getParent).filter(Objects::nonNull).distinct().toArray(Path[]::new);
+        IOException[] parentErrors = processParallel(parents, index -> Files.createDirectories(parents[index]));
+
+        Map<Path, IOException> failedParents = new HashMap<>();
+        for (int i = 0; i < parents.length; i++) {
+            if (parentErrors[i] != null) {
+                failedParents.put(parents[i], parentErrors[i]);
+            }
+        }
+
+        return toResults(array, processParallel(paths, index -> {
+            IOException parentError = failedParents.get(paths[index].getParent());
+            if (parentError != null) {
+                throw parentError;
+            }
+
+            Files.createFile(paths[index]);
+        }));
+    }
+
+    /**
+     * Deletes many files (or empty directories) at once using the common {@code ForkJoinPool}. Files of the same
+     * directory are deleted together. Files are deleted without additional existence checks, so a file which does not
+     * exist is reported as failed.
+     * @param files files to be deleted
+     * @return results of the operation for every file (in the order of given collection)
+     */
+    public static List<FileOperationResult> deleteFiles(Collection<File> files) {
+        File[] array = files.toArray(new File[0]);
+        Path[] paths = toAbsolutePaths(array);
+        return toResults(array, processParallel(paths, index -> Files.delete(paths[index])));
+    }
+
+    /**
+     * Renames many files at once using the common {@code ForkJoinPool}. Files of the same directory are renamed
+     * together. Unlike {@link #renameFile(File, String)}, existing files are never replaced - renaming to the name of
+     * an existing file is reported as failed.
+     * @param newNames new names of the files (cannot be blank or contain file separators)
+     * @return results of the operation for every file (in the iteration order of given map)
+     */
+    public static List<FileOperationResult> renameFiles(Map<File, String> newNames) {
+        File[] array = newNames.keySet().toArray(new File[0]);
+        Path[] paths = toAbsolutePaths(array);
+        Path[] targets = new Path[array.length];
+        for (int i = 0; i < array.length; i++) {
+            String newName = newNames.get(array[i]).strip();
+            if (newName.isBlank()) {
+                throw new IllegalArgumentException("Name of renamed file cannot be blank.");
+            }
+
+            if (newName.contains(File.separator)) {
+                throw new IllegalArgumentException("Name of renamed file cannot contains file separators.");
+            }
+
+            targets[i] = paths[i].resolveSibling(newName);
+        }
+
+        return toResults(array, processParallel(paths, index -> Files.move(paths[index], targets[index])));
+    }
+
+    /**
+     * Replaces content of the file atomically - content is written to a temporary file in the same directory, which
+     * is then moved over the target file. Readers see either the old or the new content (never a partially written
+     * file), even if the writing process crashes. Parent directories of the target file are created if needed and
+     * POSIX permissions of the replaced file are kept.
+     * @param target file to be written (it is created or replaced)
+     * @param content new content of the file
+     * @param durability level of durability (see {@link WriteDurability})
+     * @throws IOException if file cannot be written
+     */
+    public static void writeAtomically(File target, byte[] content, WriteDurability durability) throws IOException {
+        Path path = target.toPath().toAbsolutePath();
+        createParentDirectories(path);
+        Path temporary = path.resolveSibling("." + path.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                if (durability != WriteDurability.NONE) {
+                    channel.force(durability == WriteDurability.FULL);
+                }
+            }
+
+            copyPermissions(path, temporary);
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        if (durability == WriteDurability.FULL) {
+            forceDirectory(path.getParent());
+        }
+    }
+
+    /**
+     * Replaces content of the file atomically. See {@link #writeAtomically(File, byte[], WriteDurability)}.
+     * @param target file to be written (it is created or replaced)
+     * @param content new content of the file
+     * @param charset charset used to encode the content
+     * @param durability level of durability (see {@link WriteDurability})
+     * @throws IOException if file cannot be written
+     */
+    public static void writeAtomically(File target, CharSequence content, Charset charset, WriteDurability durability) throws IOException {
+        writeAtomically(target, content.toString().getBytes(charset), durability);
+    }
+
+    /**
+     * Copies content of the file to a new file. Parent directories of the target file are created if needed. Data is
+     * transferred by {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, so operating
+     * system can copy it without moving it through user space buffers.
+     * @param source file to be copied
+     * @param target new file (cannot exist)
+     * @throws IOException if source is not a file or target already exists
+     */
+    public static void copyFile(File source, File target) throws IOException {
+        copyFile(source, target, false);
+    }
+
+    /**
+     * Copies content of the file to a new file. See {@link #copyFile(File, File)} for details.
+     * @param source file to be copied
+     * @param target new file (cannot exist)
+     * @param preserveAttributes {@code true} if timestamps and POSIX permissions should be copied as well
+     * @throws IOException if source is not a file or target already exists
+     */
+    public static void copyFile(File source, File target, boolean preserveAttributes) throws IOException {
+        if (!source.isFile()) {
+            throw new IOException("Cannot copy " + source + " - not a file.");
+        }
+
+        createParentDirectories(target.toPath());
+        transferFile(source.toPath(), target.toPath(), preserveAttributes);
+    }
+
+    /**
+     * Moves file or directory to a new location. Parent directories of the target are created if needed. If source
+     * and target are on the same file store, file is just renamed; otherwise data is copied (with attributes) and the
+     * source is deleted.
+     * @param source file or directory to be moved
+     * @param target new location (cannot exist)
+     * @throws IOException if source does not exist or target already exists
+     */
+    public static void moveFile(File source, File target) throws IOException {
+        if (!source.exists()) {
+            throw new IOException("Cannot move " + source + " - does not exist.");
+        }
+
+        if (target.exists()) {
+            throw new IOException("Cannot move " + source + " - " + target + " already exists.");
+        }
+
+        createParentDirectories(target.toPath());
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            if (source.isDirectory()) {
+                copyDirectoryParallel(source, target, true);
+                deleteDirectoryParallel(source);
+            } else {
+                copyFile(source, target, true);
+                deleteFile(source);
+            }
+        }
+    }
+
+    /**
+     * Concatenates content of the files (in the given order) into a new file. Parent directories of the target file
+     * are created if needed. Data is transferred the same way as by {@link #copyFile(File, File)}.
+     * @param target new file (cannot exist)
+     * @param sources files to be concatenated
+     * @throws IOException if any of the sources is not a file or target already exists
+     */
+    public static void concatenateFiles(File target, File... sources) throws IOException {
+        for (File source : sources) {
+            if (!source.isFile()) {
+                throw new IOException("Cannot concatenate " + source + " - not a file.");
+            }
+        }
+
+        createParentDirectories(target.toPath());
+        try (FileChannel output = FileChannel.open(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            for (File source : sources) {
+                try (FileChannel input = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+                    transfer(input, output);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies given directory (and all nested directories and files inside) to a new location. Symbolic links are
+     * copied as links (they are not followed). Files are copied the same way as by {@link #copyFile(File, File)}.
+     * @param source directory to be copied
+     * @param target new directory (cannot exist)
+     * @param preserveAttributes {@code true} if timestamps and POSIX permissions should be copied as well
+     * @throws IOException if source is not a directory or target already exists
+     */
+    public static void copyDirectory(File source, File target, boolean preserveAttributes) throws IOException {
+        List<Path> files = createDirectoryStructure(source, target);
+        for (Path file : files) {
+            copyEntry(source.toPath(), target.toPath(), file, preserveAttributes);
+        }
+
+        if (preserveAttributes) {
+            copyDirectoryAttributes(source.toPath(), target.toPath());
+        }
+    }
+
+    /**
+     * Copies given directory (and all nested directories and files inside) to a new location. Files are copied in
+     * parallel using the common {@code ForkJoinPool}. See {@link #copyDirectory(File, File, boolean)} for details.
+     * @param source directory to be copied
+     * @param target new directory (cannot exist)
+     * @param preserveAttributes {@code true} if timestamps and POSIX permissions should be copied as well
+     * @throws IOException if source is not a directory or target already exists
+     */
+    public static void copyDirectoryParallel(File source, File target, boolean preserveAttributes) throws IOException {
+        List<Path> files = createDirectoryStructure(source, target);
+        try {
+            ForkJoinPool.commonPool().invoke(new CopyTask(source.toPath(), target.toPath(), files, preserveAttributes));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (preserveAttributes) {
+            copyDirectoryAttributes(source.toPath(), target.toPath());
+        }
+    }
+
+    /**
+     * Reads the file line by line. File is memory-mapped in windows and lines are passed to the consumer as reusable
+     * {@code CharSequence} views of the mapped bytes (decoded as ISO-8859-1), so no memory is allocated per line.
+     * Views are valid only during the call of the consumer ({@link CharSequence#toString()} can be used to keep the
+     * line). Lines can be terminated by {@code \n} or {@code \r\n}.
+     * @param file file to be read
+     * @param consumer consumer of the lines
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachLine(File file, Consumer<CharSequence> consumer) throws IOException {
+        forEachRecord(file, (byte) '\n', toLineConsumer(consumer));
+    }
+
+    /**
+     * Reads the file record by record, where records are delimited by a specific byte. File is memory-mapped in
+     * windows and records are passed to the consumer as reusable views of the mapped bytes (between position and limit
+     * of the buffer), so no memory is allocated per record. Views are valid only during the call of the consumer.
+     * @param file file to be read
+     * @param delimiter byte delimiting the records (it is not a part of the records)
+     * @param consumer consumer of the records
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachRecord(File file, byte delimiter, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            readRecords(new MappedRecordReader(channel, 0, channel.size(), delimiter), consumer);
+        }
+    }
+
+    /**
+     * Reads the file record by record, where all records have the same length (the last record can be shorter). See
+     * {@link #forEachRecord(File, byte, Consumer)} for details.
+     * @param file file to be read
+     * @param recordLength length of the records in bytes
+     * @param consumer consumer of the records
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachFixedLengthRecord(File file, int recordLength, Consumer<ByteBuffer> consumer) throws IOException {
+        if (recordLength <= 0) {
+            throw new IllegalArgumentException("Length of the records has to be positive.");
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            readRecords(new MappedRecordReader(channel, 0, channel.size(), (byte) 0, recordLength, MappedRecordReader.DEFAULT_WINDOW_SIZE), consumer);
+        }
+    }
+
+    /**
+     * Reads the file line by line in parallel. File is split at line boundaries into parts processed by the common
+     * {@code ForkJoinPool}, so lines are passed to the consumer concurrently and not in the order of the file. See
+     * {@link #forEachLine(File, Consumer)} for details.
+     * @param file file to be read
+     * @param consumer consumer of the lines (has to be thread-safe)
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachLineParallel(File file, Consumer<CharSequence> consumer) throws IOException {
+        forEachRecordParallel(file, (byte) '\n', toLineConsumer(consumer));
+    }
+
+    /**
+     * Reads the file record by record in parallel. File is split at record boundaries into parts processed by the
+     * common {@code ForkJoinPool}, so records are passed to the consumer concurrently and not in the order of the file.
+     * See {@link #forEachRecord(File, byte, Consumer)} for details.
+     * @param file file to be read
+     * @param delimiter byte delimiting the records (it is not a part of the records)
+     * @param consumer consumer of the records (has to be thread-safe)
+     * @throws IOException if file cannot be read
+     */
+    public static void forEachRecordParallel(File file, byte delimiter, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parts = (int) Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L, size / MIN_PARALLEL_PART_SIZE));
+            long[] boundaries = new long[parts + 1];
+            boundaries[parts] = size;
+            for (int i = 1; i < parts; i++) {
+                boundaries[i] = findRecordStart(channel, Math.max(boundaries[i - 1], size / parts * i), delimiter);
+            }
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                MappedRecordReader reader = new MappedRecordReader(channel, boundaries[i], boundaries[i + 1], delimiter);
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    try {
+                        readRecords(reader, consumer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+
+            ForkJoinTask.invokeAll(tasks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Computes hash of the file content using given algorithm. File is read through a direct buffer (small files) or
+     * memory-mapped in windows (large files), so its content is not copied into heap arrays.
+     * @param file file to be hashed
+     * @param algorithm hash algorithm
+     * @return hash of the file
+     * @throws IOException if file cannot be read
+     */
+    public static byte[] hash(File file, FileHashAlgorithm algorithm) throws IOException {
+        FileHashAlgorithm.Hasher hasher = algorithm.newHasher();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            updateHash(channel, 0, channel.size(), hasher);
+        }
+
+        return hasher.digest();
+    }
+
+    /**
+     * Computes hashes of consecutive chunks of the file content. Chunks are hashed in parallel using the common
+     * {@code ForkJoinPool}. The last chunk can be shorter; empty file consists of a single empty chunk.
+     * @param file file to be hashed
+     * @param algorithm hash algorithm
+     * @param chunkSize size of the chunks in bytes
+     * @return hashes of the chunks (in order of the chunks)
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if chunk size is not positive or file consists of more than
+     *                                  {@code Integer.MAX_VALUE - 8} chunks
+     */
+    public static List<byte[]> hashChunks(File file, FileHashAlgorithm algorithm, long chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Size of chunks has to be positive.");
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkCount = Math.max(1, size / chunkSize + (size % chunkSize == 0 ? 0 : 1));
+            if (chunkCount > MAX_CHUNKS) {
+                throw new IllegalArgumentException("Cannot hash " + file + " in " + chunkCount + " chunks - at most " + MAX_CHUNKS + " chunks are supported.");
+            }
+
+            int chunks = (int) chunkCount;
+            byte[][] hashes = new byte[chunks][];
+            throwFirstError(processParallel(IntStream.range(0, chunks).toArray(), 1, index -> {
+                FileHashAlgorithm.Hasher hasher = algorithm.newHasher();
+                long position = index * chunkSize;
+                updateHash(channel, position, Math.min(chunkSize, size - position), hasher);
+                hashes[index] = hasher.digest();
+            }));
+            return Arrays.asList(hashes);
+        }
+    }
+
+    /**
+     * Computes tree digest of the file - hash (using the same algorithm) of concatenated hashes of its chunks. See
+     * {@link #hashChunks(File, FileHashAlgorithm, long)} for details. The result depends on the size of chunks.
+     * @param file file to be hashed
+     * @param algorithm hash algorithm
+     * @param chunkSize size of the chunks in bytes
+     * @return tree digest of the file
+     * @throws IOException if file cannot be read
+     */
+    public static byte[] hashTree(File file, FileHashAlgorithm algorithm, long chunkSize) throws IOException {
+        FileHashAlgorithm.Hasher hasher = algorithm.newHasher();
+        for (byte[] chunkHash : hashChunks(file, algorithm, chunkSize)) {
+            hasher.update(ByteBuffer.wrap(chunkHash));
+        }
+
+        return hasher.digest();
+    }
+
+    /**
+     * Computes manifest of the directory - hashes of all regular files inside of the directory (recursively). Files
+     * are hashed concurrently using the common {@code ForkJoinPool}. Symbolic links are not followed.
+     * @param directory directory to be hashed
+     * @param algorithm hash algorithm
+     * @return hexadecimal hashes of the files by their paths relative to the directory (with {@code /} separators),
+     *         sorted by the paths
+     * @throws IOException if directory or any of its files cannot be read
+     */
+    public static SortedMap<String, String> hashDirectory(File directory, FileHashAlgorithm algorithm) throws IOException {
+        if (!directory.isDirectory()) {
+            throw new IOException("Cannot hash " + directory + " - not a directory.");
+        }
+
+        Path root = directory.toPath();
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    files.add(file);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        String[] hashes = new String[files.size()];
+        throwFirstError(processParallel(IntStream.range(0, hashes.length).toArray(), PARALLEL_COPY_BATCH_SIZE,
+                index -> hashes[index] = HexFormat.of().formatHex(hash(files.get(index).toFile(), algorithm))));
+
+        SortedMap<String, String> manifest = new TreeMap<>();
+        for (int i = 0; i < hashes.length; i++) {
+            manifest.put(toRelativeName(root, files.get(i)), hashes[i]);
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Takes snapshot of the directory - paths, sizes and modification times of all regular files inside of the
+     * directory (recursively). Directory tree is scanned in parallel using the common {@code ForkJoinPool}. Symbolic
+     * links are not followed and entries which cannot be read are skipped.
+     * @param directory directory to be scanned
+     * @return snapshot of the directory
+     * @throws IOException if {@code File} is not a directory
+     */
+    public static DirectorySnapshot takeSnapshot(File directory) throws IOException {
+        return takeSnapshot(directory, null, null);
+    }
+
+    /**
+     * Takes snapshot of the directory including hashes of the files, which are computed in parallel. See
+     * {@link #takeSnapshot(File)} for details.
+     * @param directory directory to be scanned
+     * @param algorithm algorithm of the hashes
+     * @return snapshot of the directory
+     * @throws IOException if {@code File} is not a directory or any of its files cannot be hashed
+     */
+    public static DirectorySnapshot takeSnapshot(File directory, FileHashAlgorithm algorithm) throws IOException {
+        return takeSnapshot(directory, algorithm, null);
+    }
+
+    /**
+     * Takes a new snapshot of the directory incrementally. Hashes (if previous snapshot contains them) are computed
+     * only for files which are new or whose sizes or modification times changed - hashes of other files are reused.
+     * @param previous previous snapshot of the same directory
+     * @param directory directory to be scanned
+     * @return new snapshot of the directory (with hashes of the same algorithm as the previous snapshot)
+     * @throws IOException if {@code File} is not a directory or any of its files cannot be hashed
+     */
+    public static DirectorySnapshot updateSnapshot(DirectorySnapshot previous, File directory) throws IOException {
+        return takeSnapshot(directory, previous.getAlgorithm(), previous);
+    }
+
+    /**
+     * Finds regular files inside of the directory (recursively) matching given criteria. Files are found lazily -
+     * directories are listed only when the stream needs more files, and subtrees excluded by the criteria are not
+     * traversed at all. Parallel stream ({@link Stream#parallel()}) traverses different subtrees concurrently.
+     * Symbolic links are not followed and entries which cannot be read are skipped.
+     * @param directory directory to be searched
+     * @param search criteria of the search
+     * @return stream of paths of the found files (resolved against the directory)
+     * @throws IOException if {@code File} is not a directory
+     */
+    public static Stream<Path> find(File directory, FileSearch search) throws IOException {
+        if (!directory.isDirectory()) {
+            throw new IOException("Cannot search " + directory + " - not a directory.");
+        }
+
+        return StreamSupport.stream(new FileSearchSpliterator(directory.toPath(), search), false);
+    }
+
+    /**
+     * Finds regular files inside of the directory (recursively) whose relative paths match the glob pattern. See
+     * {@link #find(File, FileSearch)} and {@link FileSearch#glob(String)} for details.
+     * @param directory directory to be searched
+     * @param glob glob pattern
+     * @return stream of paths of the found files (resolved against the directory)
+     * @throws IOException if {@code File} is not a directory
+     */
+    public static Stream<Path> find(File directory, String glob) throws IOException {
+        return find(directory, FileSearch.glob(glob));
+    }
+
     /**
      * Creates instance of the {@code File} class based on given parameters (directories names and file names).
      * The actual file will not be created in the file system.
@@ -164,19 +763,55 @@ public class FileUtil {
 
     /**
      * Returns size of the file using given unit from {@link com.gutil.FileSizeUnit} enum. If {@code File} represents
-     * a directory, summarize size of subdirectories and files inside will be returned.
+     * a directory, summarize size of subdirectories and files inside will be returned (symbolic links inside the
+     * directory are not followed and entries which cannot be read are skipped).
      * @param file {@code File} instance representing a file or a directory in the file system
      * @param unit unit of file size (e.g. bytes, kilobytes...)
      * @return size of the file based on given unit
      */
     public static double getFileSize(File file, FileSizeUnit unit) {
         long sizeInBytes = 0;
-        if (file.isDirectory()) {
-            for (File subFile : file.listFiles()) {
-                sizeInBytes += getFileSizeRoundUp(subFile, FileSizeUnit.BYTE);
+        BasicFileAttributes attributes = readAttributes(file.toPath());
+        if (attributes != null && attributes.isDirectory()) {
+            sizeInBytes = getDirectorySize(file.toPath());
+        } else if (attributes != null && attributes.isRegularFile()) {
+            sizeInBytes = attributes.size();
+        }
+
+        return FileSizeUnit.convert(sizeInBytes, FileSizeUnit.BYTE, unit);
+    }
+
+    /**
+     * Returns size of the file using given unit from {@link com.gutil.FileSizeUnit} enum. Directories are measured
+     * in parallel using the common {@code ForkJoinPool}, which is much faster for wide directory trees. See
+     * {@link #getFileSize(File, FileSizeUnit)} for details.
+     * @param file {@code File} instance representing a file or a directory in the file system
+     * @param unit unit of file size (e.g. bytes, kilobytes...)
+     * @return size of the file based on given unit
+     */
+    public static double getFileSizeParallel(File file, FileSizeUnit unit) {
+        return getFileSizeParallel(file, unit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns size of the file using given unit from {@link com.gutil.FileSizeUnit} enum. Directories are measured
+     * in parallel using the specific {@code ForkJoinPool}. See {@link #getFileSize(File, FileSizeUnit)} for details.
+     * @param file {@code File} instance representing a file or a directory in the file system
+     * @param unit unit of file size (e.g. bytes, kilobytes...)
+     * @param pool pool used for measuring of directories
+     * @return size of the file based on given unit
+     */
+    public static double getFileSizeParallel(File file, FileSizeUnit unit, ForkJoinPool pool) {
+        long sizeInBytes = 0;
+        BasicFileAttributes attributes = readAttributes(file.toPath());
+        if (attributes != null && attributes.isDirectory()) {
+            try {
+                sizeInBytes = pool.invoke(new SizeTask(listEntries(file.toPath())));
+            } catch (IOException e) {
+                sizeInBytes = 0;
             }
-        } else if (file.isFile()) {
-            sizeInBytes = file.length();
+        } else if (attributes != null && attributes.isRegularFile()) {
+            sizeInBytes = attributes.size();
         }
 
         return FileSizeUnit.convert(sizeInBytes, FileSizeUnit.BYTE, unit);
@@ -194,4 +829,675 @@ public class FileUtil {
         return (long) Math.ceil(getFileSize(file, unit));
     }
 
-}
+    /**
+     * Sums sizes of all regular files inside of the directory (recursively).
+     * @param directory directory to be measured
+     * @return size of the directory in bytes
+     */
+    private static long getDirectorySize(Path directory) {
+        long[] size = new long[1];
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile()) {
+                        size[0] += attributes.size();
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exception) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not measure size of " + directory + ".", e);
+        }
+
+        return size[0];
+    }
+
+    /**
+     * Reads basic attributes of the file (following symbolic links).
+     * @param path path of the file
+     * @return attributes of the file or null if file does not exist or cannot be read
+     */
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists all entries of the directory.
+     * @param directory directory to be listed
+     * @return list of paths of the entries
+     * @throws IOException if directory cannot be listed
+     */
+    private static List<Path> listEntries(Path directory) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Scans the directory and hashes its files (if algorithm is given), reusing hashes of unchanged files.
+     * @param directory directory to be scanned
+     * @param algorithm algorithm of the hashes (can be null)
+     * @param previous previous snapshot (can be null)
+     * @return snapshot of the directory
+     */
+    private static DirectorySnapshot takeSnapshot(File directory, FileHashAlgorithm algorithm, DirectorySnapshot previous) throws IOException {
+        if (!directory.isDirectory()) {
+            throw new IOException("Cannot take snapshot of " + directory + " - not a directory.");
+        }
+
+        Path root = directory.toPath();
+        SnapshotEntry[] entries = ForkJoinPool.commonPool().invoke(new SnapshotTask(root, "")).toArray(new SnapshotEntry[0]);
+        Arrays.parallelSort(entries, Comparator.comparing(SnapshotEntry::path));
+
+        int size = entries.length;
+        String[] paths = new String[size];
+        long[] sizes = new long[size];
+        long[] lastModified = new long[size];
+        for (int i = 0; i < size; i++) {
+            paths[i] = entries[i].path();
+            sizes[i] = entries[i].size();
+            lastModified[i] = entries[i].lastModified();
+        }
+
+        byte[][] hashes = null;
+        if (algorithm != null) {
+            byte[][] computedHashes = new byte[size][];
+            throwFirstError(processParallel(IntStream.range(0, size).toArray(), PARALLEL_COPY_BATCH_SIZE, index -> {
+                byte[] hash = previous == null ? null : previous.getUnchangedHash(paths[index], sizes[index], lastModified[index]);
+                computedHashes[index] = hash != null ? hash : hash(root.resolve(paths[index]).toFile(), algorithm);
+            }));
+            hashes = computedHashes;
+        }
+
+        return new DirectorySnapshot(paths, sizes, lastModified, hashes, algorithm);
+    }
+
+    private static String toRelativeName(Path root, Path file) {
+        StringBuilder name = new StringBuilder();
+        for (Path element : root.relativize(file)) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+
+            name.append(element);
+        }
+
+        return name.toString();
+    }
+
+    private static Path[] toAbsolutePaths(File[] files) {
+        Path[] paths = new Path[files.length];
+        for (int i = 0; i < files.length; i++) {
+            paths[i] = files[i].toPath().toAbsolutePath();
+        }
+
+        return paths;
+    }
+
+    private static List<FileOperationResult> toResults(File[] files, IOException[] errors) {
+        List<FileOperationResult> results = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
+            results.add(new FileOperationResult(files[i], errors[i]));
+        }
+
+        return results;
+    }
+
+    /**
+     * Performs the operation for every path in parallel. Paths are ordered by their parent directories, so paths of
+     * the same directory are processed by the same task whenever possible.
+     * @param paths paths to be processed
+     * @param operation operation performed for the index of every path
+     * @return errors of the operation (null for every path which was processed successfully)
+     */
+    private static IOException[] processParallel(Path[] paths, PathOperation operation) {
+        Comparator<Path> byParent = Comparator.comparing(Path::getParent, Comparator.nullsFirst(Comparator.naturalOrder()));
+        int[] order = IntStream.range(0, paths.length).boxed()
+                .sorted((first, second) -> byParent.compare(paths[first], paths[second]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        return processParallel(order, PARALLEL_BATCH_SIZE, operation);
+    }
+
+    /**
+     * Performs the operation for every index in parallel (in given order within batches).
+     * @param order indexes to be processed
+     * @param batchSize maximal number of indexes processed by a single task
+     * @param operation operation performed for every index
+     * @return errors of the operation (null for every index which was processed successfully)
+     */
+    private static IOException[] processParallel(int[] order, int batchSize, PathOperation operation) {
+        IOException[] errors = new IOException[order.length];
+        ForkJoinPool.commonPool().invoke(new BatchTask(order, 0, order.length, batchSize, operation, errors));
+        return errors;
+    }
+
+    /**
+     * Throws the first error of the parallel operation (if any).
+     * @param errors errors of the operation
+     * @throws IOException the first error
+     */
+    private static void throwFirstError(IOException[] errors) throws IOException {
+        for (IOException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Hashes the part of the file. Small parts are read into a reusable direct buffer, large parts are memory-mapped
+     * in windows.
+     * @param channel channel of the file
+     * @param position position of the part
+     * @param length length of the part in bytes
+     * @param hasher hasher updated with the content of the part
+     */
+    private static void updateHash(FileChannel channel, long position, long length, FileHashAlgorithm.Hasher hasher) throws IOException {
+        long end = position + length;
+        if (length < MAPPING_THRESHOLD) {
+            ByteBuffer buffer = HASH_BUFFER.get();
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                int count = channel.read(buffer, position);
+                if (count < 0) {
+                    throw new IOException("Unexpected end of file while hashing.");
+                }
+
+                position += count;
+                hasher.update(buffer.flip());
+            }
+
+            return;
+        }
+
+        while (position < end) {
+            long windowSize = Math.min(MappedRecordReader.DEFAULT_WINDOW_SIZE, end - position);
+            hasher.update(channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize));
+            position += windowSize;
+        }
+    }
+
+    /**
+     * Copies POSIX permissions of the existing file to the replacement file (if file system supports them).
+     * @param source existing file (can be missing)
+     * @param target replacement file
+     */
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null) {
+            return;
+        }
+
+        try {
+            Files.setPosixFilePermissions(target, sourceView.readAttributes().permissions());
+        } catch (NoSuchFileException e) {
+            // new file keeps default permissions
+        }
+    }
+
+    /**
+     * Forces the directory entries to the storage device. Not all platforms allow directories to be opened (e.g.
+     * Windows), in that case nothing is forced.
+     * @param directory directory to be forced
+     */
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            // directories cannot be forced on this platform
+        }
+    }
+
+    private static void createParentDirectories(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    /**
+     * Copies content of the file to a new file using zero-copy transfer.
+     * @param source file to be copied
+     * @param target new file (cannot exist)
+     * @param preserveAttributes {@code true} if timestamps and POSIX permissions should be copied as well
+     */
+    private static void transferFile(Path source, Path target, boolean preserveAttributes) throws IOException {
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            transfer(input, output);
+        }
+
+        if (preserveAttributes) {
+            copyAttributes(source, target);
+        }
+    }
+
+    /**
+     * Transfers whole content of the input channel to the current position of the output channel.
+     * @param input channel to be read
+     * @param output channel to be written
+     */
+    private static void transfer(FileChannel input, FileChannel output) throws IOException {
+        long size = input.size();
+        long position = 0;
+        while (position < size) {
+            long transferred = input.transferTo(position, size - position, output);
+            if (transferred <= 0) {
+                break;
+            }
+
+            position += transferred;
+        }
+    }
+
+    /**
+     * Copies timestamps (and POSIX permissions if supported) of the file.
+     * @param source original file
+     * @param target file to which attributes should be copied
+     */
+    private static void copyAttributes(Path source, Path target) throws IOException {
+        PosixFileAttributeView posixView = Files.getFileAttributeView(target, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+        BasicFileAttributes attributes;
+        if (posixView != null) {
+            PosixFileAttributes posixAttributes = Files.readAttributes(source, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            posixView.setPermissions(posixAttributes.permissions());
+            attributes = posixAttributes;
+        } else {
+            attributes = Files.readAttributes(source, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        }
+
+        Files.getFileAttributeView(target, BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+                .setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+    }
+
+    /**
+     * Creates copies of all directories of the source tree and collects entries which are not directories.
+     * @param source directory to be copied
+     * @param target new directory (cannot exist)
+     * @return list of entries (files and links) to be copied
+     */
+    private static List<Path> createDirectoryStructure(File source, File target) throws IOException {
+        if (!source.isDirectory()) {
+            throw new IOException("Cannot copy " + source + " - not a directory.");
+        }
+
+        if (target.exists()) {
+            throw new IOException("Cannot copy " + source + " - " + target + " already exists.");
+        }
+
+        Path sourcePath = source.toPath();
+        Path targetPath = target.toPath();
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(sourcePath, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(targetPath.resolve(sourcePath.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile() || attributes.isSymbolicLink()) {
+                    files.add(file);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return files;
+    }
+
+    /**
+     * Copies single entry of the directory tree (regular file or symbolic link).
+     * @param sourceRoot root of the copied directory
+     * @param targetRoot root of the new directory
+     * @param entry entry to be copied
+     * @param preserveAttributes {@code true} if timestamps and POSIX permissions should be copied as well
+     */
+    private static void copyEntry(Path sourceRoot, Path targetRoot, Path entry, boolean preserveAttributes) throws IOException {
+        Path target = targetRoot.resolve(sourceRoot.relativize(entry));
+        if (Files.isSymbolicLink(entry)) {
+            Files.createSymbolicLink(target, Files.readSymbolicLink(entry));
+        } else {
+            transferFile(entry, target, preserveAttributes);
+        }
+    }
+
+    /**
+     * Copies attributes of all directories of the tree (deepest first, as creation of entries changes timestamps of
+     * their parents).
+     * @param sourceRoot root of the copied directory
+     * @param targetRoot root of the new directory
+     */
+    private static void copyDirectoryAttributes(Path sourceRoot, Path targetRoot) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        Files.walkFileTree(sourceRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exception) throws IOException {
+                if (exception != null) {
+                    throw exception;
+                }
+
+                directories.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        for (Path directory : directories) {
+            copyAttributes(directory, targetRoot.resolve(sourceRoot.relativize(directory)));
+        }
+    }
+
+    private static void readRecords(MappedRecordReader reader, Consumer<ByteBuffer> consumer) throws IOException {
+        while (reader.next()) {
+            consumer.accept(reader.record());
+        }
+    }
+
+    /**
+     * Creates consumer of records which passes them as lines (without trailing {@code \r}) to the line consumer. Every
+     * call of the returned consumer reuses the same {@code CharSequence} view, so it has to be created per thread.
+     * @param consumer consumer of the lines
+     * @return consumer of the records
+     */
+    private static Consumer<ByteBuffer> toLineConsumer(Consumer<CharSequence> consumer) {
+        ThreadLocal<Latin1CharSequence> line = ThreadLocal.withInitial(Latin1CharSequence::new);
+        return record -> {
+            int length = record.remaining();
+            if (length > 0 && record.get(record.limit() - 1) == '\r') {
+                length--;
+            }
+
+            consumer.accept(line.get().set(record, record.position(), length));
+        };
+    }
+
+    /**
+     * Returns position in the file of the first record starting at or after the specific position.
+     * @param channel channel of the file
+     * @param position position from which the record start should be searched
+     * @param delimiter byte delimiting the records
+     * @return position of the record start (or size of the file if there is none)
+     */
+    private static long findRecordStart(FileChannel channel, long position, byte delimiter) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8_192);
+        long current = position - 1;
+        while (channel.read(buffer.clear(), current) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                if (buffer.get() == delimiter) {
+                    return current + buffer.position();
+                }
+            }
+
+            current += buffer.limit();
+        }
+
+        return channel.size();
+    }
+
+    /**
+     * Task measuring total size of the group of entries (entries which are directories are measured recursively by
+     * forked subtasks). Large groups are split into smaller ones. Entries which cannot be read are skipped.
+     */
+    private static class SizeTask extends RecursiveTask<Long> {
+
+        private final List<Path> entries;
+
+        private SizeTask(List<Path> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        protected Long compute() {
+            if (entries.size() > PARALLEL_BATCH_SIZE) {
+                int middle = entries.size() / 2;
+                SizeTask second = new SizeTask(entries.subList(middle, entries.size()));
+                second.fork();
+                return new SizeTask(entries.subList(0, middle)).compute() + second.join();
+            }
+
+            long size = 0;
+            List<SizeTask> subtasks = new ArrayList<>();
+            for (Path entry : entries) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        SizeTask subtask = new SizeTask(listEntries(entry));
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else if (attributes.isRegularFile()) {
+                        size += attributes.size();
+                    }
+                } catch (IOException e) {
+                    // entries which cannot be read are skipped, the same way as by sequential measuring
+                }
+            }
+
+            for (SizeTask subtask : subtasks) {
+                size += subtask.join();
+            }
+
+            return size;
+        }
+
+    }
+
+    /**
+     * Task deleting the group of entries (entries which are directories are emptied by forked subtasks before being
+     * deleted). Large groups are split into smaller ones. Symbolic links are deleted, but not followed.
+     */
+    private static class DeleteTask extends RecursiveAction {
+
+        private final List<Path> entries;
+
+        private DeleteTask(List<Path> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        protected void compute() {
+            if (entries.size() > PARALLEL_BATCH_SIZE) {
+                int middle = entries.size() / 2;
+                invokeAll(new DeleteTask(entries.subList(0, middle)), new DeleteTask(entries.subList(middle, entries.size())));
+                return;
+            }
+
+            try {
+                List<Path> directories = new ArrayList<>();
+                List<DeleteTask> subtasks = new ArrayList<>();
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        DeleteTask subtask = new DeleteTask(listEntries(entry));
+                        subtask.fork();
+                        subtasks.add(subtask);
+                        directories.add(entry);
+                    } else {
+                        Files.delete(entry);
+                    }
+                }
+
+                for (int i = 0; i < subtasks.size(); i++) {
+                    subtasks.get(i).join();
+                    Files.delete(directories.get(i));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    /**
+     * Task copying the group of entries of the directory tree (large groups are split into smaller ones).
+     */
+    private static class CopyTask extends RecursiveAction {
+
+        private final Path sourceRoot;
+        private final Path targetRoot;
+        private final List<Path> entries;
+        private final boolean preserveAttributes;
+
+        private CopyTask(Path sourceRoot, Path targetRoot, List<Path> entries, boolean preserveAttributes) {
+            this.sourceRoot = sourceRoot;
+            this.targetRoot = targetRoot;
+            this.entries = entries;
+            this.preserveAttributes = preserveAttributes;
+        }
+
+        @Override
+        protected void compute() {
+            if (entries.size() > PARALLEL_COPY_BATCH_SIZE) {
+                int middle = entries.size() / 2;
+                invokeAll(new CopyTask(sourceRoot, targetRoot, entries.subList(0, middle), preserveAttributes),
+                        new CopyTask(sourceRoot, targetRoot, entries.subList(middle, entries.size()), preserveAttributes));
+                return;
+            }
+
+            try {
+                for (Path entry : entries) {
+                    copyEntry(sourceRoot, targetRoot, entry, preserveAttributes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    /**
+     * Task scanning the directory for a snapshot (subdirectories are scanned by forked subtasks). Entries which cannot
+     * be read are skipped.
+     */
+    private static class SnapshotTask extends RecursiveTask<List<SnapshotEntry>> {
+
+        private final Path directory;
+        private final String prefix;
+
+        private SnapshotTask(Path directory, String prefix) {
+            this.directory = directory;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected List<SnapshotEntry> compute() {
+            List<SnapshotEntry> entries = new ArrayList<>();
+            List<SnapshotTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path entry : stream) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        String path = prefix + entry.getFileName();
+                        if (attributes.isDirectory()) {
+                            SnapshotTask subtask = new SnapshotTask(entry, path + "/");
+                            subtask.fork();
+                            subtasks.add(subtask);
+                        } else if (attributes.isRegularFile()) {
+                            entries.add(new SnapshotEntry(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                        }
+                    } catch (IOException e) {
+                        // entries which cannot be read are skipped, the same way as by measuring of directories
+                    }
+                }
+            } catch (IOException e) {
+                // directories which cannot be listed are treated as empty
+            }
+
+            for (SnapshotTask subtask : subtasks) {
+                entries.addAll(subtask.join());
+            }
+
+            return entries;
+        }
+
+    }
+
+    /**
+     * Regular file found while taking a snapshot.
+     */
+    private record SnapshotEntry(String path, long size, long lastModified) {
+
+    }
+
+    /**
+     * Task performing the operation for the range of indexes of a batch (large ranges are split into smaller ones).
+     * Errors are collected per index instead of stopping the whole batch.
+     */
+    private static class BatchTask extends RecursiveAction {
+
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        private final PathOperation operation;
+        private final IOException[] errors;
+
+        private BatchTask(int[] order, int from, int to, int batchSize, PathOperation operation, IOException[] errors) {
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+            this.operation = operation;
+            this.errors = errors;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(order, from, middle, batchSize, operation, errors),
+                        new BatchTask(order, middle, to, batchSize, operation, errors));
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                try {
+                    operation.apply(order[i]);
+                } catch (IOException e) {
+                    errors[order[i]] = e;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * File operation performed for the path with given index by batch methods.
+     */
+    @FunctionalInterface
+    private interface PathOperation {
+
+        void apply(int index) throws IOException;
+
+    }
+
+}
\ No newline at end of file
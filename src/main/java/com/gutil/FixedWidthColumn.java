@@ -0,0 +1,40 @@
+package com.gutil;
+
+/**
+ * Column of the fixed-width record formatted by {@link FixedWidthRowFormatter}. Values shorter than the width of the
+ * column are padded with the pad character (on the right side if column is left-aligned and on the left side if it
+ * is right-aligned).
+ * @param width width of the column (in characters, or in bytes if records are encoded into byte buffers)
+ * @param pad character used for padding
+ * @param rightAligned {@code true} if values are aligned to the right side of the column (e.g. numbers)
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public record FixedWidthColumn(int width, char pad, boolean rightAligned) {
+
+    public FixedWidthColumn {
+        if (width < 0) {
+            throw new IllegalArgumentException("Width of the column cannot be negative.");
+        }
+    }
+
+    /**
+     * Creates left-aligned column padded with spaces (typical for texts).
+     * @param width width of the column
+     * @return new column
+     */
+    public static FixedWidthColumn left(int width) {
+        return new FixedWidthColumn(width, ' ', false);
+    }
+
+    /**
+     * Creates right-aligned column padded with given character (typical for numbers, e.g. padded with zeros).
+     * @param width width of the column
+     * @param pad character used for padding
+     * @return new column
+     */
+    public static FixedWidthColumn right(int width, char pad) {
+        return new FixedWidthColumn(width, pad, true);
+    }
+
+}
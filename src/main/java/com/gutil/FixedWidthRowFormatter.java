@@ -0,0 +1,163 @@
+package com.gutil;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Formatter of fixed-width records (rows), where every value occupies a column of a specific width. Values are padded
+ * straight into the output ({@code StringBuilder}, {@code CharBuffer} or {@code ByteBuffer}), so no intermediate
+ * strings are created for the fields of the row. Values longer than their columns are rejected, as they would shift
+ * the following columns. Formatter is immutable and thread-safe.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class FixedWidthRowFormatter {
+
+    private final FixedWidthColumn[] columns;
+    private final String lineSeparator;
+    private final int rowLength;
+
+    /**
+     * Creates formatter of rows without a line separator.
+     * @param columns columns of the row (in order)
+     */
+    public FixedWidthRowFormatter(FixedWidthColumn... columns) {
+        this(List.of(columns), "");
+    }
+
+    /**
+     * Creates formatter of rows.
+     * @param columns columns of the row (in order)
+     * @param lineSeparator separator appended after every row (e.g. {@code \n}; can be empty)
+     */
+    public FixedWidthRowFormatter(List<FixedWidthColumn> columns, String lineSeparator) {
+        this.columns = columns.toArray(new FixedWidthColumn[0]);
+        this.lineSeparator = lineSeparator;
+        int length = lineSeparator.length();
+        for (FixedWidthColumn column : this.columns) {
+            length += column.width();
+        }
+
+        this.rowLength = length;
+    }
+
+    /**
+     * Returns length of every formatted row (including the line separator).
+     * @return length of the row in characters (or bytes, if row is encoded by a single-byte charset)
+     */
+    public int getRowLength() {
+        return rowLength;
+    }
+
+    /**
+     * Formats the row into a new {@code String}.
+     * @param values values of the columns (null values are formatted as empty values)
+     * @return formatted row
+     */
+    public String format(CharSequence... values) {
+        return formatRow(values, new StringBuilder(rowLength)).toString();
+    }
+
+    /**
+     * Appends the row to the {@code StringBuilder}.
+     * @param values values of the columns (null values are formatted as empty values)
+     * @param output builder to which row is appended
+     * @return given builder
+     */
+    public StringBuilder formatRow(CharSequence[] values, StringBuilder output) {
+        checkValues(values, null);
+        for (int i = 0; i < columns.length; i++) {
+            FixedWidthColumn column = columns[i];
+            if (column.rightAligned()) {
+                StringUtil.padLeading(values[i], column.pad(), column.width(), output);
+            } else {
+                StringUtil.padTrailing(values[i], column.pad(), column.width(), output);
+            }
+        }
+
+        return output.append(lineSeparator);
+    }
+
+    /**
+     * Puts the row into the {@code CharBuffer}.
+     * @param values values of the columns (null values are formatted as empty values)
+     * @param output buffer to which row is put (at its position)
+     * @return given buffer
+     * @throws BufferOverflowException if there is not enough space in the buffer (nothing is written)
+     */
+    public CharBuffer formatRow(CharSequence[] values, CharBuffer output) {
+        checkValues(values, null);
+        if (output.remaining() < rowLength) {
+            throw new BufferOverflowException();
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            FixedWidthColumn column = columns[i];
+            if (column.rightAligned()) {
+                StringUtil.padLeading(values[i], column.pad(), column.width(), output);
+            } else {
+                StringUtil.padTrailing(values[i], column.pad(), column.width(), output);
+            }
+        }
+
+        return output.put(lineSeparator);
+    }
+
+    /**
+     * Encodes the row into the {@code ByteBuffer} - widths of the columns are treated as numbers of bytes.
+     * @param values values of the columns (null values are formatted as empty values)
+     * @param output buffer to which row is put (at its position)
+     * @param charset {@link java.nio.charset.StandardCharsets#ISO_8859_1} or
+     *                {@link java.nio.charset.StandardCharsets#UTF_8}
+     * @return given buffer
+     * @throws BufferOverflowException if there is not enough space in the buffer (nothing is written)
+     */
+    public ByteBuffer formatRow(CharSequence[] values, ByteBuffer output, Charset charset) {
+        checkValues(values, charset);
+        if (output.remaining() < rowLength - lineSeparator.length() + StringUtil.getEncodedLength(lineSeparator, charset)) {
+            throw new BufferOverflowException();
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            FixedWidthColumn column = columns[i];
+            if (column.rightAligned()) {
+                StringUtil.padLeading(values[i], column.pad(), column.width(), output, charset);
+            } else {
+                StringUtil.padTrailing(values[i], column.pad(), column.width(), output, charset);
+            }
+        }
+
+        return StringUtil.padTrailing(lineSeparator, ' ', 0, output, charset);
+    }
+
+    /**
+     * Checks number of values, their lengths and pad characters before anything is written, so rejected rows leave the
+     * output unchanged.
+     * @param values values of the columns
+     * @param charset charset of the output (lengths are measured in bytes) or null (lengths are measured in characters)
+     */
+    private void checkValues(CharSequence[] values, Charset charset) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, but got " + values.length + ".");
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            if (charset != null) {
+                StringUtil.encodePad(columns[i].pad(), charset);
+            }
+
+            if (values[i] == null) {
+                continue;
+            }
+
+            int length = charset == null ? values[i].length() : StringUtil.getEncodedLength(values[i], charset);
+            if (length > columns[i].width()) {
+                throw new IllegalArgumentException("Value of column " + i + " is longer than " + columns[i].width() + ".");
+            }
+        }
+    }
+
+}
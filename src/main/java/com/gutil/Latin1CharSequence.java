@@ -0,0 +1,62 @@
+package com.gutil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable {@code CharSequence} view of bytes in a {@code ByteBuffer} decoded as ISO-8859-1 (every byte is a single
+ * character). View can be moved to another range of bytes without allocating new objects.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class Latin1CharSequence implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * Moves the view to the specific range of bytes.
+     * @param buffer buffer containing the bytes
+     * @param offset index of the first byte in the buffer
+     * @param length number of bytes
+     * @return this view
+     */
+    Latin1CharSequence set(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length + ".");
+        }
+
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length + ".");
+        }
+
+        return new Latin1CharSequence().set(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.gutil;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simple map with limited size evicting the least recently used entries. It is not thread-safe.
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maxSize;
+
+    /**
+     * Creates empty cache.
+     * @param maxSize maximal number of entries kept in the cache
+     */
+    LruCache(int maxSize) {
+        super(16, 0.75f, true);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Size of the cache has to be positive.");
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+
+}
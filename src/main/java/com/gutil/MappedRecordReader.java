@@ -0,0 +1,131 @@
+package com.gutil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Cursor over records of the file (or its part) which is memory-mapped in windows. Records are either delimited by a
+ * specific byte or have a fixed length. Current record is exposed as a view of the mapped window, so no memory is
+ * allocated per record - the view is reused and is valid only until the next call of {@link #next()}.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class MappedRecordReader {
+
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1_048_576;
+
+    private final FileChannel channel;
+    private final long end;
+    private final byte delimiter;
+    private final int recordLength;
+    private final int windowSize;
+    private long windowStart;
+    private int position;
+    private MappedByteBuffer window;
+    private ByteBuffer record;
+
+    /**
+     * Creates cursor over delimited records of the part of the file.
+     * @param channel channel of the file (it is not closed by the reader)
+     * @param start position in the file of the first record
+     * @param end position in the file after the last record
+     * @param delimiter byte delimiting the records (it is not a part of the records)
+     */
+    MappedRecordReader(FileChannel channel, long start, long end, byte delimiter) {
+        this(channel, start, end, delimiter, 0, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates cursor over records of the part of the file.
+     * @param channel channel of the file (it is not closed by the reader)
+     * @param start position in the file of the first record
+     * @param end position in the file after the last record
+     * @param delimiter byte delimiting the records (ignored if records have fixed length)
+     * @param recordLength length of fixed length records or 0 for delimited records
+     * @param windowSize size of the mapped windows (it is increased for records longer than the window)
+     */
+    MappedRecordReader(FileChannel channel, long start, long end, byte delimiter, int recordLength, int windowSize) {
+        this.channel = channel;
+        this.end = end;
+        this.delimiter = delimiter;
+        this.recordLength = recordLength;
+        this.windowSize = Math.max(windowSize, recordLength);
+        this.windowStart = start;
+    }
+
+    /**
+     * Moves the cursor to the next record. The last record does not need to be terminated by the delimiter (or it
+     * can be shorter than fixed length).
+     * @return {@code true} if there is next record, {@code false} if end of the file (part) was reached
+     */
+    boolean next() throws IOException {
+        int size = windowSize;
+        while (true) {
+            if (window == null || position == window.limit()) {
+                if (windowStart + position >= end) {
+                    return false;
+                }
+
+                map(windowStart + position, size);
+            }
+
+            int recordEnd = recordLength > 0 ? findFixedRecordEnd() : findDelimiter();
+            if (recordEnd >= 0) {
+                setRecord(position, recordEnd);
+                position = recordLength > 0 ? recordEnd : recordEnd + 1;
+                return true;
+            }
+
+            if (windowStart + window.limit() >= end) {
+                setRecord(position, window.limit());
+                position = window.limit();
+                return true;
+            }
+
+            if (position == 0) {
+                size = (int) Math.min(Integer.MAX_VALUE, 2L * window.limit());
+            }
+
+            map(windowStart + position, size);
+        }
+    }
+
+    /**
+     * Returns the current record as a view of the mapped window (between position and limit of the returned buffer).
+     * Buffer is reused and its content is valid only until the next call of {@link #next()}.
+     * @return current record
+     */
+    ByteBuffer record() {
+        return record;
+    }
+
+    private int findDelimiter() {
+        int limit = window.limit();
+        for (int i = position; i < limit; i++) {
+            if (window.get(i) == delimiter) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int findFixedRecordEnd() {
+        return window.limit() - position >= recordLength ? position + recordLength : -1;
+    }
+
+    private void setRecord(int from, int to) {
+        record.limit(to);
+        record.position(from);
+    }
+
+    private void map(long start, int size) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, end - start));
+        record = window.duplicate();
+        windowStart = start;
+        position = 0;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.gutil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Schema-driven codec of records stored in fixed-width or delimited files. Records are read straight from memory-mapped
+ * windows of the file as reusable {@link RecordView} objects - fields are located lazily and exposed as views of the
+ * mapped bytes, so no strings are created unless requested. Records are written straight into byte buffers using the
+ * padding of {@link StringUtil}.
+ * <p>
+ * Supported layouts:
+ * <ul>
+ *  <li>Fixed-width records without separators (e.g. mainframe extracts) - every record has the length of all columns</li>
+ *  <li>Fixed-width records separated by lines ({@code \n} or {@code \r\n})</li>
+ *  <li>Delimited records separated by lines - fields are separated by a single-byte delimiter (quoting is not
+ *  supported, so values cannot contain the delimiter)</li>
+ * </ul>
+ * Codec is immutable and thread-safe.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class RecordCodec {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final FixedWidthColumn[] columns;
+    private final int[] offsets;
+    private final FixedWidthRowFormatter formatter;
+    private final byte fieldDelimiter;
+    private final boolean lineSeparated;
+
+    private RecordCodec(List<FixedWidthColumn> columns, byte fieldDelimiter, boolean lineSeparated) {
+        this.fieldDelimiter = fieldDelimiter;
+        this.lineSeparated = lineSeparated;
+        if (columns == null) {
+            this.columns = null;
+            this.offsets = null;
+            this.formatter = null;
+            return;
+        }
+
+        this.columns = columns.toArray(new FixedWidthColumn[0]);
+        this.offsets = new int[this.columns.length + 1];
+        for (int i = 0; i < this.columns.length; i++) {
+            offsets[i + 1] = offsets[i] + this.columns[i].width();
+        }
+
+        this.formatter = new FixedWidthRowFormatter(columns, lineSeparated ? "\n" : "");
+    }
+
+    /**
+     * Creates codec of fixed-width records.
+     * @param columns columns of the records (in order)
+     * @param lineSeparated {@code true} if records are separated by lines, {@code false} if records follow each other
+     *                      without separators
+     * @return new codec
+     */
+    public static RecordCodec fixedWidth(List<FixedWidthColumn> columns, boolean lineSeparated) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Record has to contain at least one column.");
+        }
+
+        return new RecordCodec(columns, (byte) 0, lineSeparated);
+    }
+
+    /**
+     * Creates codec of delimited records separated by lines.
+     * @param fieldDelimiter ASCII character separating the fields (e.g. {@code ,}, {@code |} or {@code \t})
+     * @return new codec
+     */
+    public static RecordCodec delimited(char fieldDelimiter) {
+        if (fieldDelimiter >= 0x80 || fieldDelimiter == LINE_SEPARATOR || fieldDelimiter == '\r') {
+            throw new IllegalArgumentException("Field delimiter has to be an ASCII character other than line separator.");
+        }
+
+        return new RecordCodec(null, (byte) fieldDelimiter, true);
+    }
+
+    /**
+     * Creates view of a single record.
+     * @param record bytes of the record (between position and limit of the buffer, without the line separator)
+     * @return new view of the record
+     */
+    public RecordView parse(ByteBuffer record) {
+        return new RecordView(this).set(record);
+    }
+
+    /**
+     * Opens streaming reader of records of the file. File is memory-mapped in windows.
+     * @param file file to be read
+     * @return reader of the records (should be closed after usage)
+     * @throws IOException if file cannot be opened
+     */
+    public RecordReader read(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            int recordLength = lineSeparated ? 0 : offsets[columns.length];
+            MappedRecordReader reader = new MappedRecordReader(channel, 0, channel.size(), LINE_SEPARATOR, recordLength,
+                    MappedRecordReader.DEFAULT_WINDOW_SIZE);
+            return new RecordReader(channel, reader, new RecordView(this));
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all records of the file. Record view passed to the consumer is reused and valid only during the call of
+     * the consumer.
+     * @param file file to be read
+     * @param consumer consumer of the records
+     * @throws IOException if file cannot be read
+     */
+    public void forEach(File file, Consumer<RecordView> consumer) throws IOException {
+        try (RecordReader reader = read(file)) {
+            reader.forEachRemaining(consumer);
+        }
+    }
+
+    /**
+     * Encodes the record into the buffer (including the line separator, if records are separated by lines). Values are
+     * validated before anything is written, so rejected records leave the buffer unchanged.
+     * @param values values of the fields (null values are written as empty values)
+     * @param output buffer to which record is put (at its position)
+     * @param charset {@link java.nio.charset.StandardCharsets#ISO_8859_1} or
+     *                {@link java.nio.charset.StandardCharsets#UTF_8}
+     * @return given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public ByteBuffer write(CharSequence[] values, ByteBuffer output, Charset charset) {
+        if (formatter != null) {
+            return formatter.formatRow(values, output, charset);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            CharSequence value = values[i] == null ? "" : values[i];
+            for (int j = 0; j < value.length(); j++) {
+                char character = value.charAt(j);
+                if (character == fieldDelimiter || character == LINE_SEPARATOR || character == '\r') {
+                    throw new IllegalArgumentException("Value of field " + i + " contains a delimiter.");
+                }
+            }
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                output.put(fieldDelimiter);
+            }
+
+            StringUtil.padTrailing(values[i] == null ? "" : values[i], ' ', 0, output, charset);
+        }
+
+        return output.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Opens buffered writer of records to the file.
+     * @param file file to be written (it is created or truncated)
+     * @param charset {@link java.nio.charset.StandardCharsets#ISO_8859_1} or
+     *                {@link java.nio.charset.StandardCharsets#UTF_8}
+     * @return writer of the records (should be closed after usage)
+     * @throws IOException if file cannot be opened
+     */
+    public RecordWriter openWriter(File file, Charset charset) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new RecordWriter(this, channel, charset);
+    }
+
+    boolean isFixedWidth() {
+        return columns != null;
+    }
+
+    boolean isLineSeparated() {
+        return lineSeparated;
+    }
+
+    byte getFieldDelimiter() {
+        return fieldDelimiter;
+    }
+
+    int getColumnCount() {
+        return columns.length;
+    }
+
+    FixedWidthColumn getColumn(int index) {
+        return columns[index];
+    }
+
+    int getOffset(int index) {
+        return offsets[index];
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.gutil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of records of the file opened by {@link RecordCodec#read(java.io.File)}. The same
+ * {@link RecordView} is returned for every record - it is valid only until the next call of {@link #hasNext()} or
+ * {@link #next()}. Reader should be closed after usage.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class RecordReader implements Iterator<RecordView>, AutoCloseable {
+
+    private final FileChannel channel;
+    private final MappedRecordReader reader;
+    private final RecordView view;
+    private boolean advanced;
+    private boolean hasNext;
+
+    RecordReader(FileChannel channel, MappedRecordReader reader, RecordView view) {
+        this.channel = channel;
+        this.reader = reader;
+        this.view = view;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!advanced) {
+            try {
+                hasNext = reader.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read next record.", e);
+            }
+
+            advanced = true;
+        }
+
+        return hasNext;
+    }
+
+    @Override
+    public RecordView next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records in the file.");
+        }
+
+        advanced = false;
+        return view.set(reader.record());
+    }
+
+    /**
+     * Closes the file.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the file.", e);
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.gutil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable view of a single record decoded by the {@link RecordCodec}. Fields are located lazily (delimited records are
+ * scanned on the first access to any field) and exposed as views of the bytes of the record - {@code CharSequence}
+ * views decode bytes as ISO-8859-1, {@link #getString(int, Charset)} can be used for other encodings. Views of the
+ * fields are reused as well, so they are valid only until the view is moved to another record.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class RecordView {
+
+    private final RecordCodec codec;
+    private ByteBuffer record;
+    private int start;
+    private int end;
+    private int[] delimiters = new int[16];
+    private int fieldCount = -1;
+    private Latin1CharSequence[] fields = new Latin1CharSequence[0];
+    private ByteBuffer[] fieldBytes = new ByteBuffer[0];
+
+    RecordView(RecordCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Moves the view to another record (trailing {@code \r} of line separated records is skipped).
+     * @param record bytes of the record (between position and limit of the buffer)
+     * @return this view
+     */
+    RecordView set(ByteBuffer record) {
+        if (record != this.record) {
+            Arrays.fill(fieldBytes, null);
+        }
+
+        this.record = record;
+        this.start = record.position();
+        this.end = record.limit();
+        if (codec.isLineSeparated() && end > start && record.get(end - 1) == '\r') {
+            end--;
+        }
+
+        this.fieldCount = codec.isFixedWidth() ? codec.getColumnCount() : -1;
+        return this;
+    }
+
+    /**
+     * Returns number of fields of the record.
+     * @return number of fields
+     */
+    public int getFieldCount() {
+        if (fieldCount < 0) {
+            findDelimiters();
+        }
+
+        return fieldCount;
+    }
+
+    /**
+     * Returns the field as a view of its bytes (decoded as ISO-8859-1), including padding of fixed-width fields.
+     * @param field index of the field
+     * @return view of the field (valid until the view is moved to another record)
+     */
+    public CharSequence get(int field) {
+        int from = getFieldStart(field);
+        int to = getFieldEnd(field);
+        return getView(field).set(record, from, to - from);
+    }
+
+    /**
+     * Returns the field without padding as a view of its bytes (decoded as ISO-8859-1). Pad characters are stripped
+     * from the padded side of fixed-width fields; whitespace characters are stripped from both sides of delimited
+     * fields.
+     * @param field index of the field
+     * @return view of the trimmed field (valid until the view is moved to another record)
+     */
+    public CharSequence getTrimmed(int field) {
+        int from = getFieldStart(field);
+        int to = getFieldEnd(field);
+        if (codec.isFixedWidth()) {
+            FixedWidthColumn column = codec.getColumn(field);
+            byte pad = (byte) column.pad();
+            if (column.rightAligned()) {
+                while (from < to && record.get(from) == pad) {
+                    from++;
+                }
+            } else {
+                while (to > from && record.get(to - 1) == pad) {
+                    to--;
+                }
+            }
+        } else {
+            while (from < to && AsciiBytes.isWhitespace(record.get(from) & 0xFF)) {
+                from++;
+            }
+
+            while (to > from && AsciiBytes.isWhitespace(record.get(to - 1) & 0xFF)) {
+                to--;
+            }
+        }
+
+        return getView(field).set(record, from, to - from);
+    }
+
+    /**
+     * Returns bytes of the field as a view of the record (between position and limit of the returned buffer).
+     * @param field index of the field
+     * @return view of the bytes of the field (valid until the view is moved to another record)
+     */
+    public ByteBuffer getBytes(int field) {
+        int from = getFieldStart(field);
+        int to = getFieldEnd(field);
+        if (fieldBytes.length <= field) {
+            fieldBytes = Arrays.copyOf(fieldBytes, Math.max(field + 1, fieldBytes.length * 2));
+        }
+
+        if (fieldBytes[field] == null) {
+            fieldBytes[field] = record.duplicate();
+        }
+
+        ByteBuffer bytes = fieldBytes[field];
+        bytes.limit(to).position(from);
+        return bytes;
+    }
+
+    /**
+     * Returns the field as a new {@code String} (including padding of fixed-width fields).
+     * @param field index of the field
+     * @param charset charset of the record
+     * @return value of the field
+     */
+    public String getString(int field, Charset charset) {
+        int from = getFieldStart(field);
+        byte[] bytes = new byte[getFieldEnd(field) - from];
+        record.get(from, bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Checks if the field is blank (contains only whitespace characters).
+     * @param field index of the field
+     * @return {@code true} if the field is empty or contains only whitespace characters
+     */
+    public boolean isBlank(int field) {
+        for (int i = getFieldStart(field); i < getFieldEnd(field); i++) {
+            if (!AsciiBytes.isWhitespace(record.get(i) & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses the field as a decimal {@code long} directly from its bytes. Surrounding whitespace characters are
+     * ignored; leading zeros and a sign are allowed.
+     * @param field index of the field
+     * @return value of the field
+     * @throws NumberFormatException if the field is not a valid {@code long} value
+     */
+    public long getLong(int field) {
+        int from = getFieldStart(field);
+        int to = getFieldEnd(field);
+        while (from < to && AsciiBytes.isWhitespace(record.get(from) & 0xFF)) {
+            from++;
+        }
+
+        while (to > from && AsciiBytes.isWhitespace(record.get(to - 1) & 0xFF)) {
+            to--;
+        }
+
+        boolean negative = from < to && record.get(from) == '-';
+        if (from < to && (record.get(from) == '-' || record.get(from) == '+')) {
+            from++;
+        }
+
+        if (from == to) {
+            throw new NumberFormatException("Field " + field + " is not a number.");
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = record.get(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException("Field " + field + " is not a valid long value: " + getString(field, StandardCharsets.ISO_8859_1));
+            }
+
+            value = value * 10 - digit;
+        }
+
+        if (!negative && value == Long.MIN_VALUE) {
+            throw new NumberFormatException("Field " + field + " is not a valid long value: " + getString(field, StandardCharsets.ISO_8859_1));
+        }
+
+        return negative ? value : -value;
+    }
+
+    /**
+     * Returns bytes of the whole record (without the line separator) as a view.
+     * @return view of the record (between position and limit of the returned buffer)
+     */
+    public ByteBuffer getRecord() {
+        return record.duplicate().limit(end).position(start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[end - start];
+        record.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private Latin1CharSequence getView(int field) {
+        if (fields.length <= field) {
+            fields = Arrays.copyOf(fields, Math.max(field + 1, fields.length * 2));
+        }
+
+        if (fields[field] == null) {
+            fields[field] = new Latin1CharSequence();
+        }
+
+        return fields[field];
+    }
+
+    /**
+     * Returns position of the first byte of the field (checks that the field exists).
+     */
+    private int getFieldStart(int field) {
+        checkField(field);
+        if (codec.isFixedWidth()) {
+            return Math.min(start + codec.getOffset(field), end);
+        }
+
+        return field == 0 ? start : delimiters[field - 1] + 1;
+    }
+
+    /**
+     * Returns position after the last byte of the field (has to be called after {@link #getFieldStart(int)}).
+     */
+    private int getFieldEnd(int field) {
+        if (codec.isFixedWidth()) {
+            return Math.min(start + codec.getOffset(field + 1), end);
+        }
+
+        return field == fieldCount - 1 ? end : delimiters[field];
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= getFieldCount()) {
+            throw new IndexOutOfBoundsException("Field " + field + " out of bounds for " + fieldCount + " fields.");
+        }
+    }
+
+    /**
+     * Finds positions of all field delimiters of the delimited record.
+     */
+    private void findDelimiters() {
+        byte delimiter = codec.getFieldDelimiter();
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (record.get(i) == delimiter) {
+                if (count == delimiters.length) {
+                    delimiters = Arrays.copyOf(delimiters, count * 2);
+                }
+
+                delimiters[count++] = i;
+            }
+        }
+
+        fieldCount = count + 1;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.gutil;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Buffered writer of records opened by {@link RecordCodec#openWriter(java.io.File, Charset)}. Records are encoded
+ * straight into a direct buffer, which is written to the file when it is full. Writer should be closed after usage.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class RecordWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1_048_576;
+
+    private final RecordCodec codec;
+    private final FileChannel channel;
+    private final Charset charset;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    RecordWriter(RecordCodec codec, FileChannel channel, Charset charset) {
+        this.codec = codec;
+        this.channel = channel;
+        this.charset = charset;
+    }
+
+    /**
+     * Writes the record. Rejected records (e.g. with values longer than their columns) are not written at all.
+     * @param values values of the fields (null values are written as empty values)
+     * @throws IOException if record cannot be written
+     */
+    public void write(CharSequence... values) throws IOException {
+        int position = buffer.position();
+        try {
+            codec.write(values, buffer, charset);
+        } catch (BufferOverflowException e) {
+            buffer.position(position);
+            flush();
+            try {
+                codec.write(values, buffer, charset);
+            } catch (BufferOverflowException tooLong) {
+                buffer.clear();
+                throw new IOException("Record is longer than the buffer of the writer.", tooLong);
+            } catch (RuntimeException rejected) {
+                buffer.clear();
+                throw rejected;
+            }
+        } catch (RuntimeException e) {
+            buffer.position(position);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes buffered records to the file.
+     * @throws IOException if records cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Writes buffered records and closes the file.
+     * @throws IOException if records cannot be written or file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.gutil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Precompiled set of candidate strings answering whether a text starts with, ends with or contains any of them. It is
+ * a faster alternative to {@link StringUtil#startsWithAny(String, String...)} and related methods when the same
+ * (possibly large) set of candidates is used repeatedly - every query takes time proportional to the length of the
+ * text (independently of the number of candidates) and allocates no memory.
+ * <p>
+ * Candidates are compiled into tries stored in flat arrays: a trie of the candidates (with Aho-Corasick failure links
+ * for {@link #containsAny(CharSequence)}) and a trie of the reversed candidates for suffixes. Case-insensitive matchers
+ * ({@link #ofIgnoreCase(String...)}) store case-folded candidates and fold characters of the text while reading them.
+ * Instances are immutable and thread-safe.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class StringMatcher {
+
+    private static final char[] LATIN1_FOLDED = new char[256];
+
+    static {
+        for (char character = 0; character < LATIN1_FOLDED.length; character++) {
+            LATIN1_FOLDED[character] = Character.toLowerCase(Character.toUpperCase(character));
+        }
+    }
+
+    private final Trie prefixes;
+    private final Trie suffixes;
+    private final boolean ignoreCase;
+
+    private StringMatcher(Collection<String> candidates, boolean ignoreCase) {
+        List<String> folded = new ArrayList<>(candidates.size());
+        List<String> reversed = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            StringBuilder builder = new StringBuilder(candidate.length());
+            for (int i = 0; i < candidate.length(); i++) {
+                builder.append(ignoreCase ? fold(candidate, i) : candidate.charAt(i));
+            }
+
+            folded.add(builder.toString());
+            reversed.add(reverseChars(builder));
+        }
+
+        this.prefixes = new Trie(folded, true);
+        this.suffixes = new Trie(reversed, false);
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Compiles the matcher of given candidates.
+     * @param candidates candidate strings (prefixes, suffixes or substrings)
+     * @return compiled matcher
+     */
+    public static StringMatcher of(String... candidates) {
+        return of(Arrays.asList(candidates));
+    }
+
+    /**
+     * Compiles the matcher of given candidates.
+     * @param candidates candidate strings (prefixes, suffixes or substrings)
+     * @return compiled matcher
+     */
+    public static StringMatcher of(Collection<String> candidates) {
+        return new StringMatcher(candidates, false);
+    }
+
+    /**
+     * Compiles the case-insensitive matcher of given candidates. Characters are compared the same way as by
+     * {@link String#regionMatches(boolean, int, String, int, int)} - independently of the default locale.
+     * @param candidates candidate strings (prefixes, suffixes or substrings)
+     * @return compiled matcher
+     */
+    public static StringMatcher ofIgnoreCase(String... candidates) {
+        return ofIgnoreCase(Arrays.asList(candidates));
+    }
+
+    /**
+     * Compiles the case-insensitive matcher of given candidates. See {@link #ofIgnoreCase(String...)} for details.
+     * @param candidates candidate strings (prefixes, suffixes or substrings)
+     * @return compiled matcher
+     */
+    public static StringMatcher ofIgnoreCase(Collection<String> candidates) {
+        return new StringMatcher(candidates, true);
+    }
+
+    /**
+     * Checks if the text starts with any of the candidates.
+     * @param text text to be checked (can be null)
+     * @return {@code true} if text starts with any of the candidates; {@code false} if it does not or text is null
+     */
+    public boolean matchesPrefix(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        int node = Trie.ROOT;
+        for (int i = 0; !prefixes.terminal[node]; i++) {
+            if (i == text.length() || (node = prefixes.next(node, charAt(text, i))) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the text ends with any of the candidates.
+     * @param text text to be checked (can be null)
+     * @return {@code true} if text ends with any of the candidates; {@code false} if it does not or text is null
+     */
+    public boolean matchesSuffix(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        int node = Trie.ROOT;
+        for (int i = text.length() - 1; !suffixes.terminal[node]; i--) {
+            if (i < 0 || (node = suffixes.next(node, charAt(text, i))) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the text contains any of the candidates (text is scanned once by the Aho-Corasick automaton).
+     * @param text text to be checked (can be null)
+     * @return {@code true} if text contains any of the candidates; {@code false} if it does not or text is null
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        int node = Trie.ROOT;
+        if (prefixes.output[node]) {
+            return true;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            node = prefixes.transition(node, charAt(text, i));
+            if (prefixes.output[node]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reverses the characters one by one (surrogate pairs are reversed as well, as suffixes are matched character by
+     * character from the end of the text).
+     */
+    private static String reverseChars(CharSequence text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = text.charAt(chars.length - 1 - i);
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Returns character of the text (case-folded if matcher ignores the case).
+     */
+    private char charAt(CharSequence text, int index) {
+        return ignoreCase ? fold(text, index) : text.charAt(index);
+    }
+
+    /**
+     * Folds the case of the character of the text - characters equal ignoring the case (according to
+     * {@link String#regionMatches(boolean, int, String, int, int)}) have the same folded form. Latin-1 characters are
+     * folded by a lookup table. Surrogate pairs are folded as code points - each surrogate is replaced by the
+     * corresponding surrogate of the folded code point, so the text can be read in both directions.
+     * @param text text containing the character
+     * @param index index of the character
+     * @return folded character
+     */
+    private static char fold(CharSequence text, int index) {
+        char character = text.charAt(index);
+        if (character < LATIN1_FOLDED.length) {
+            return LATIN1_FOLDED[character];
+        }
+
+        if (Character.isHighSurrogate(character) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
+            int folded = fold(Character.toCodePoint(character, text.charAt(index + 1)));
+            return Character.isSupplementaryCodePoint(folded) ? Character.highSurrogate(folded) : character;
+        }
+
+        if (Character.isLowSurrogate(character) && index > 0 && Character.isHighSurrogate(text.charAt(index - 1))) {
+            int folded = fold(Character.toCodePoint(text.charAt(index - 1), character));
+            return Character.isSupplementaryCodePoint(folded) ? Character.lowSurrogate(folded) : character;
+        }
+
+        return (char) fold((int) character);
+    }
+
+    private static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    /**
+     * Trie of strings stored in flat arrays - edges of every node are stored contiguously, sorted by their labels.
+     */
+    private static class Trie {
+
+        private static final int ROOT = 0;
+
+        private final int[] edgeOffsets;
+        private final char[] labels;
+        private final int[] targets;
+        private final boolean[] terminal;
+        private final int[] failures;
+        private final boolean[] output;
+
+        /**
+         * Compiles the trie.
+         * @param strings strings stored in the trie
+         * @param withFailures {@code true} if failure links of the Aho-Corasick automaton should be computed
+         */
+        private Trie(Collection<String> strings, boolean withFailures) {
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<Boolean> terminalNodes = new ArrayList<>();
+            children.add(new TreeMap<>());
+            terminalNodes.add(false);
+            for (String string : strings) {
+                int node = ROOT;
+                for (int i = 0; i < string.length(); i++) {
+                    Integer child = children.get(node).get(string.charAt(i));
+                    if (child == null) {
+                        child = children.size();
+                        children.get(node).put(string.charAt(i), child);
+                        children.add(new TreeMap<>());
+                        terminalNodes.add(false);
+                    }
+
+                    node = child;
+                }
+
+                terminalNodes.set(node, true);
+            }
+
+            int nodes = children.size();
+            this.edgeOffsets = new int[nodes + 1];
+            this.labels = new char[nodes - 1];
+            this.targets = new int[nodes - 1];
+            this.terminal = new boolean[nodes];
+            int edge = 0;
+            for (int node = 0; node < nodes; node++) {
+                edgeOffsets[node] = edge;
+                terminal[node] = terminalNodes.get(node);
+                for (Map.Entry<Character, Integer> child : children.get(node).entrySet()) {
+                    labels[edge] = child.getKey();
+                    targets[edge++] = child.getValue();
+                }
+            }
+
+            edgeOffsets[nodes] = edge;
+            this.failures = withFailures ? new int[nodes] : null;
+            this.output = withFailures ? terminal.clone() : null;
+            if (withFailures) {
+                computeFailures();
+            }
+        }
+
+        /**
+         * Returns child of the node reached by the character.
+         * @param node index of the node
+         * @param character label of the edge
+         * @return index of the child or negative value if there is no such edge
+         */
+        private int next(int node, char character) {
+            int edge = Arrays.binarySearch(labels, edgeOffsets[node], edgeOffsets[node + 1], character);
+            return edge >= 0 ? targets[edge] : -1;
+        }
+
+        /**
+         * Returns state of the Aho-Corasick automaton after reading the character (failure links are followed until
+         * the character can be consumed).
+         * @param node current state
+         * @param character read character
+         * @return next state
+         */
+        private int transition(int node, char character) {
+            while (true) {
+                int next = next(node, character);
+                if (next >= 0) {
+                    return next;
+                }
+
+                if (node == ROOT) {
+                    return ROOT;
+                }
+
+                node = failures[node];
+            }
+        }
+
+        /**
+         * Computes failure links in breadth-first order - failure link of the node points to the longest proper
+         * suffix of its string which is present in the trie. Node is an output node if any string ends at it or at
+         * any node reachable by its failure links.
+         */
+        private void computeFailures() {
+            Queue<Integer> queue = new ArrayDeque<>();
+            queue.add(ROOT);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                    int child = targets[edge];
+                    failures[child] = node == ROOT ? ROOT : transition(failures[node], labels[edge]);
+                    output[child] |= output[failures[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+    }
+
+}
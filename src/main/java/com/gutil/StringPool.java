@@ -0,0 +1,283 @@
+package com.gutil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of canonical strings deduplicating high-cardinality repeated values (e.g. values of XML attributes or
+ * categories of log records). Values can be given as character sequences, character arrays or slices of ISO-8859-1
+ * encoded bytes - if an equal string is already in the pool, it is returned without allocating any memory.
+ * <p>
+ * Pool is a lock-free set-associative table: every value is hashed to a set of a few slots, which are compared with
+ * the value (using cached hash codes of the stored strings). When all slots of the set are occupied, a random one is
+ * replaced, so the pool never holds more strings than its capacity and rarely used values are evicted over time.
+ * Pool is thread-safe - concurrent calls can create the same string twice, which affects only deduplication ratio.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class StringPool {
+
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    private static final int WAYS = 4;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates pool with the default capacity.
+     */
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates pool.
+     * @param capacity maximal number of strings held by the pool (rounded up to a power of two, at least 4)
+     */
+    public StringPool(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity has to be between 1 and 2^30.");
+        }
+
+        int sets = Math.max(1, Integer.highestOneBit(capacity - 1) * 2 / WAYS);
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+    }
+
+    /**
+     * Returns canonical string equal to the value.
+     * @param value value to be deduplicated (can be null)
+     * @return canonical string or null if value is null
+     */
+    public String intern(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+
+        int set = getSet(hash);
+        for (int i = set; i < set + WAYS; i++) {
+            String candidate = slots.get(i);
+            if (candidate != null && candidate.hashCode() == hash && candidate.contentEquals(value)) {
+                hits.increment();
+                return candidate;
+            }
+        }
+
+        return add(set, value.toString());
+    }
+
+    /**
+     * Returns canonical string equal to the characters.
+     * @param characters array of characters
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return canonical string
+     */
+    public String intern(char[] characters, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + characters[i];
+        }
+
+        int set = getSet(hash);
+        for (int i = set; i < set + WAYS; i++) {
+            String candidate = slots.get(i);
+            if (candidate != null && candidate.hashCode() == hash && equals(candidate, characters, offset, length)) {
+                hits.increment();
+                return candidate;
+            }
+        }
+
+        return add(set, new String(characters, offset, length));
+    }
+
+    /**
+     * Returns canonical string equal to the ISO-8859-1 encoded bytes.
+     * @param bytes array of bytes
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return canonical string
+     */
+    public String intern(byte[] bytes, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + (bytes[i] & 0xFF);
+        }
+
+        int set = getSet(hash);
+        for (int i = set; i < set + WAYS; i++) {
+            String candidate = slots.get(i);
+            if (candidate != null && candidate.hashCode() == hash && equals(candidate, bytes, offset, length)) {
+                hits.increment();
+                return candidate;
+            }
+        }
+
+        return add(set, new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Returns canonical string equal to the ISO-8859-1 encoded bytes between position and limit of the buffer (position
+     * of the buffer is not changed).
+     * @param bytes buffer of bytes
+     * @return canonical string
+     */
+    public String intern(ByteBuffer bytes) {
+        int from = bytes.position();
+        int to = bytes.limit();
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + (bytes.get(i) & 0xFF);
+        }
+
+        int set = getSet(hash);
+        for (int i = set; i < set + WAYS; i++) {
+            String candidate = slots.get(i);
+            if (candidate != null && candidate.hashCode() == hash && equals(candidate, bytes, from, to)) {
+                hits.increment();
+                return candidate;
+            }
+        }
+
+        return add(set, new Latin1CharSequence().set(bytes, from, to - from).toString());
+    }
+
+    /**
+     * Returns number of strings which are currently held by the pool.
+     * @return number of strings
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns maximal number of strings held by the pool.
+     * @return capacity of the pool
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Returns number of values for which canonical string was found in the pool.
+     * @return number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns number of values for which new string was created.
+     * @return number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns ratio of hits to all interned values.
+     * @return hit ratio (0 if no value was interned yet)
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Removes all strings from the pool and resets statistics.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Returns index of the first slot of the set of the hash code (bits of the hash code are spread, as hash codes
+     * of short strings differ mostly in low bits).
+     */
+    private int getSet(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return ((spread ^ (spread >>> 16)) & setMask) * WAYS;
+    }
+
+    /**
+     * Stores new string in an empty slot of the set or in a random slot if the set is full.
+     */
+    private String add(int set, String value) {
+        misses.increment();
+        for (int i = set; i < set + WAYS; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, value)) {
+                return value;
+            }
+        }
+
+        slots.set(set + ThreadLocalRandom.current().nextInt(WAYS), value);
+        return value;
+    }
+
+    private static boolean equals(String string, char[] characters, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != characters[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean equals(String string, byte[] bytes, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != (bytes[offset + i] & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean equals(String string, ByteBuffer bytes, int from, int to) {
+        if (string.length() != to - from) {
+            return false;
+        }
+
+        for (int i = from; i < to; i++) {
+            if (string.charAt(i - from) != (bytes.get(i) & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -1,6 +1,12 @@
 package com.gutil;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Class containing utility methods for {@code String} objects.
@@ -30,7 +36,174 @@ public class StringUtil {
     }
 
     /**
-     * Reverses given {@code String} object (e.g. 'aBcDeF' will be reversed by creating a new object 'FeDcBa').
+     * Checks which of given {@code String} objects are blank (null-safe). See {@link #isBlank(String)}.
+     * @param texts {@code String} objects to be checked
+     * @return array with {@code true} at indexes of blank or {@code null} objects
+     */
+    public static boolean[] isBlankBulk(String[] texts) {
+        boolean[] blank = new boolean[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            blank[i] = isBlank(texts[i]);
+        }
+
+        return blank;
+    }
+
+    /**
+     * Checks which of given {@code String} objects are blank (null-safe). See {@link #isBlank(String)}.
+     * @param texts {@code String} objects to be checked
+     * @return array with {@code true} at indexes of blank or {@code null} objects
+     */
+    public static boolean[] isBlankBulk(List<String> texts) {
+        boolean[] blank = new boolean[texts.size()];
+        int i = 0;
+        for (String text : texts) {
+            blank[i++] = isBlank(text);
+        }
+
+        return blank;
+    }
+
+    /**
+     * Checks if the range of single-byte encoded text (ASCII or ISO-8859-1, e.g. a field of a column buffer) is blank
+     * - contains only whitespace characters, the same as checked by {@link String#isBlank()}. Bytes are checked eight
+     * at a time.
+     * @param bytes buffer containing the text
+     * @param offset index of the first byte of the text
+     * @param length number of bytes of the text
+     * @return {@code true} if text is empty or contains only whitespace characters
+     */
+    public static boolean isBlank(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return AsciiBytes.isBlank(bytes, offset, length);
+    }
+
+    /**
+     * Checks if the range of characters is blank - contains only whitespace characters, the same as checked by
+     * {@link String#isBlank()}.
+     * @param chars buffer containing the text
+     * @param offset index of the first character of the text
+     * @param length number of characters of the text
+     * @return {@code true} if text is empty or contains only whitespace characters
+     */
+    public static boolean isBlank(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] != ' ' && !Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts ASCII upper case letters of the range of bytes to lower case (in place). Other bytes (including
+     * non-ASCII characters) are not changed, so the result does not depend on the locale. Bytes are converted eight
+     * at a time.
+     * @param bytes buffer containing the text
+     * @param offset index of the first byte of the text
+     * @param length number of bytes of the text
+     */
+    public static void toLowerCaseAscii(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        AsciiBytes.toLowerCase(bytes, offset, length);
+    }
+
+    /**
+     * Converts ASCII lower case letters of the range of bytes to upper case (in place). See
+     * {@link #toLowerCaseAscii(byte[], int, int)} for details.
+     * @param bytes buffer containing the text
+     * @param offset index of the first byte of the text
+     * @param length number of bytes of the text
+     */
+    public static void toUpperCaseAscii(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        AsciiBytes.toUpperCase(bytes, offset, length);
+    }
+
+    /**
+     * Converts ASCII upper case letters of the range of characters to lower case (in place). Other characters are not
+     * changed, so the result does not depend on the locale.
+     * @param chars buffer containing the text
+     * @param offset index of the first character of the text
+     * @param length number of characters of the text
+     */
+    public static void toLowerCaseAscii(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] += 'a' - 'A';
+            }
+        }
+    }
+
+    /**
+     * Converts ASCII lower case letters of the range of characters to upper case (in place). Other characters are not
+     * changed, so the result does not depend on the locale.
+     * @param chars buffer containing the text
+     * @param offset index of the first character of the text
+     * @param length number of characters of the text
+     */
+    public static void toUpperCaseAscii(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] >= 'a' && chars[i] <= 'z') {
+                chars[i] -= 'a' - 'A';
+            }
+        }
+    }
+
+    /**
+     * Checks if the range of bytes starts with given prefix. Bytes are compared by
+     * {@link Arrays#equals(byte[], int, int, byte[], int, int)}, which compares many bytes at a time.
+     * @param bytes buffer containing the text
+     * @param offset index of the first byte of the text
+     * @param length number of bytes of the text
+     * @param prefix possible prefix of the text
+     * @return {@code true} if text starts with the prefix
+     */
+    public static boolean startsWith(byte[] bytes, int offset, int length, byte[] prefix) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return length >= prefix.length && Arrays.equals(bytes, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Checks if the range of bytes starts with given prefix ignoring the case of ASCII letters. Bytes are compared
+     * eight at a time.
+     * @param bytes buffer containing the text
+     * @param offset index of the first byte of the text
+     * @param length number of bytes of the text
+     * @param prefix possible prefix of the text
+     * @return {@code true} if text starts with the prefix (ignoring the case of ASCII letters)
+     */
+    public static boolean startsWithIgnoreCaseAscii(byte[] bytes, int offset, int length, byte[] prefix) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return length >= prefix.length && AsciiBytes.equalsIgnoreCase(bytes, offset, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Checks which of given {@code String} objects start with any of the given possible prefixes. Prefixes are
+     * compiled into a {@link StringMatcher} once, so every object is checked in time proportional to its length.
+     * @param texts {@code String} objects to be checked
+     * @param starters possible prefixes
+     * @return array with {@code true} at indexes of objects starting with any of the prefixes ({@code false} for
+     *         {@code null} objects)
+     */
+    public static boolean[] startsWithAnyBulk(String[] texts, String... starters) {
+        StringMatcher matcher = StringMatcher.of(starters);
+        boolean[] matches = new boolean[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            matches[i] = matcher.matchesPrefix(texts[i]);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Reverses given {@code String} object (e.g. 'aBcDeF' will be reversed by creating a new object 'FeDcBa'). Surrogate
+     * pairs are kept in their order, so code points outside of the Basic Multilingual Plane stay valid. Text is
+     * reversed in a single array (of bytes if all characters are ISO-8859-1 characters).
      * @param text original {@code String} object to be reversed (can be {@code null})
      * @return new object representing reversed string (if {@code null} was given as parameter, {@code null} will be returned)
      */
@@ -39,8 +212,227 @@ public class StringUtil {
             return null;
         }
 
-        StringBuilder builder = new StringBuilder(text);
-        return builder.reverse().toString();
+        if (containsOnlyLatin1(text)) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            for (int i = 0, j = bytes.length - 1; i < j; i++, j--) {
+                byte swapped = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = swapped;
+            }
+
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = text.toCharArray();
+        reverse(chars, 0, chars.length);
+        return new String(chars);
+    }
+
+    /**
+     * Reverses characters of the array in place. Surrogate pairs are kept in their order, so code points outside of
+     * the Basic Multilingual Plane stay valid.
+     * @param chars array of characters
+     * @param offset index of the first character to be reversed
+     * @param length number of characters to be reversed
+     */
+    public static void reverse(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        boolean surrogates = false;
+        for (int i = offset, j = offset + length - 1; i <= j; i++, j--) {
+            char swapped = chars[i];
+            chars[i] = chars[j];
+            chars[j] = swapped;
+            surrogates |= Character.isSurrogate(swapped) || Character.isSurrogate(chars[i]);
+        }
+
+        if (surrogates) {
+            for (int i = offset; i < offset + length - 1; i++) {
+                if (Character.isLowSurrogate(chars[i]) && Character.isHighSurrogate(chars[i + 1])) {
+                    char swapped = chars[i];
+                    chars[i] = chars[i + 1];
+                    chars[++i] = swapped;
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends reversed text to the builder (code points outside of the Basic Multilingual Plane stay valid).
+     * @param text text to be reversed
+     * @param output builder to which reversed text is appended
+     * @return given builder
+     */
+    public static StringBuilder reverse(CharSequence text, StringBuilder output) {
+        output.ensureCapacity(output.length() + text.length());
+        for (int i = text.length() - 1; i >= 0; i--) {
+            char character = text.charAt(i);
+            if (Character.isLowSurrogate(character) && i > 0 && Character.isHighSurrogate(text.charAt(i - 1))) {
+                output.append(text.charAt(--i));
+            }
+
+            output.append(character);
+        }
+
+        return output;
+    }
+
+    /**
+     * Converts ASCII upper case letters of the text to lower case independently of the default locale (other
+     * characters are not changed).
+     * @param text text to be converted (can be {@code null})
+     * @return converted text or the same instance if it does not contain ASCII upper case letters
+     */
+    public static String toLowerCaseAscii(String text) {
+        int first = text == null ? -1 : indexOfAsciiLetter(text, 'A', 'Z');
+        if (first < 0) {
+            return text;
+        }
+
+        if (containsOnlyLatin1(text)) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            AsciiBytes.toLowerCase(bytes, first, bytes.length - first);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = text.toCharArray();
+        toLowerCaseAscii(chars, first, chars.length - first);
+        return new String(chars);
+    }
+
+    /**
+     * Converts ASCII lower case letters of the text to upper case independently of the default locale (other
+     * characters are not changed).
+     * @param text text to be converted (can be {@code null})
+     * @return converted text or the same instance if it does not contain ASCII lower case letters
+     */
+    public static String toUpperCaseAscii(String text) {
+        int first = text == null ? -1 : indexOfAsciiLetter(text, 'a', 'z');
+        if (first < 0) {
+            return text;
+        }
+
+        if (containsOnlyLatin1(text)) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            AsciiBytes.toUpperCase(bytes, first, bytes.length - first);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = text.toCharArray();
+        toUpperCaseAscii(chars, first, chars.length - first);
+        return new String(chars);
+    }
+
+    /**
+     * Folds the case of the text, so texts which are equal ignoring the case (according to
+     * {@link String#equalsIgnoreCase(String)}) have equal folded forms. Folding is independent of the default locale and
+     * does not change the length of the text (unlike {@link String#toLowerCase()}).
+     * @param text text to be folded (can be {@code null})
+     * @return folded text or the same instance if folding does not change it
+     */
+    public static String foldCase(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        int first = 0;
+        while (first < text.length() && foldCase(text.charAt(first)) == text.charAt(first) && !Character.isSurrogate(text.charAt(first))) {
+            first++;
+        }
+
+        if (first == text.length()) {
+            return text;
+        }
+
+        char[] chars = text.toCharArray();
+        foldCase(chars, first, chars.length);
+        String folded = new String(chars);
+        return folded.equals(text) ? text : folded;
+    }
+
+    /**
+     * Appends case-folded text to the builder. See {@link #foldCase(String)}.
+     * @param text text to be folded
+     * @param output builder to which folded text is appended
+     * @return given builder
+     */
+    public static StringBuilder foldCase(CharSequence text, StringBuilder output) {
+        int start = output.length();
+        output.append(text);
+        for (int i = start; i < output.length(); i++) {
+            char character = output.charAt(i);
+            if (Character.isHighSurrogate(character) && i + 1 < output.length() && Character.isLowSurrogate(output.charAt(i + 1))) {
+                int folded = foldCase(Character.toCodePoint(character, output.charAt(i + 1)));
+                if (Character.isSupplementaryCodePoint(folded)) {
+                    output.setCharAt(i, Character.highSurrogate(folded));
+                    output.setCharAt(++i, Character.lowSurrogate(folded));
+                } else {
+                    i++;
+                }
+            } else {
+                output.setCharAt(i, foldCase(character));
+            }
+        }
+
+        return output;
+    }
+
+    /**
+     * Removes given character from the left side of the text (reverts {@link #padLeading(String, char, int)}).
+     * @param text text to be trimmed (can be {@code null})
+     * @param pad character to be removed
+     * @return trimmed text or the same instance if it does not start with the character
+     */
+    public static String trimLeading(String text, char pad) {
+        if (text == null) {
+            return null;
+        }
+
+        int from = 0;
+        while (from < text.length() && text.charAt(from) == pad) {
+            from++;
+        }
+
+        return text.substring(from);
+    }
+
+    /**
+     * Removes given character from the right side of the text (reverts {@link #padTrailing(String, char, int)}).
+     * @param text text to be trimmed (can be {@code null})
+     * @param pad character to be removed
+     * @return trimmed text or the same instance if it does not end with the character
+     */
+    public static String trimTrailing(String text, char pad) {
+        if (text == null) {
+            return null;
+        }
+
+        int to = text.length();
+        while (to > 0 && text.charAt(to - 1) == pad) {
+            to--;
+        }
+
+        return text.substring(0, to);
+    }
+
+    /**
+     * Appends text without leading and trailing whitespace characters (according to
+     * {@link Character#isWhitespace(char)}) to the builder.
+     * @param text text to be trimmed
+     * @param output builder to which trimmed text is appended
+     * @return given builder
+     */
+    public static StringBuilder strip(CharSequence text, StringBuilder output) {
+        int from = 0;
+        int to = text.length();
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+
+        return output.append(text, from, to);
     }
 
     /**
@@ -59,7 +451,7 @@ public class StringUtil {
             return originalText;
         }
 
-        return String.valueOf(pad).repeat(expectedLength - originalText.length()) + originalText;
+        return padLeading(originalText, pad, expectedLength, new StringBuilder(expectedLength)).toString();
     }
 
     /**
@@ -78,11 +470,133 @@ public class StringUtil {
             return originalText;
         }
 
-        return originalText + String.valueOf(pad).repeat(expectedLength - originalText.length());
+        return padTrailing(originalText, pad, expectedLength, new StringBuilder(expectedLength)).toString();
+    }
+
+    /**
+     * Appends given text to the {@code StringBuilder} with specified character added on the left side to meet
+     * requested length. No intermediate objects are created. See {@link #padLeading(String, char, int)}.
+     * @param text text to be appended (null is treated as an empty text)
+     * @param pad specified character to be added on the left side of the text
+     * @param expectedLength minimal number of appended characters (longer text is appended unchanged)
+     * @param output builder to which padded text is appended
+     * @return given builder
+     */
+    public static StringBuilder padLeading(CharSequence text, char pad, int expectedLength, StringBuilder output) {
+        text = text == null ? "" : text;
+        for (int i = text.length(); i < expectedLength; i++) {
+            output.append(pad);
+        }
+
+        return output.append(text);
+    }
+
+    /**
+     * Appends given text to the {@code StringBuilder} with specified character added on the right side to meet
+     * requested length. No intermediate objects are created. See {@link #padTrailing(String, char, int)}.
+     * @param text text to be appended (null is treated as an empty text)
+     * @param pad specified character to be added on the right side of the text
+     * @param expectedLength minimal number of appended characters (longer text is appended unchanged)
+     * @param output builder to which padded text is appended
+     * @return given builder
+     */
+    public static StringBuilder padTrailing(CharSequence text, char pad, int expectedLength, StringBuilder output) {
+        text = text == null ? "" : text;
+        output.append(text);
+        for (int i = text.length(); i < expectedLength; i++) {
+            output.append(pad);
+        }
+
+        return output;
     }
 
     /**
-     * Checks if given {@code String} starts with any of the given possible prefixes.
+     * Puts given text into the {@code CharBuffer} with specified character added on the left side to meet requested
+     * length. No intermediate objects are created. See {@link #padLeading(String, char, int)}.
+     * @param text text to be put (null is treated as an empty text)
+     * @param pad specified character to be added on the left side of the text
+     * @param expectedLength minimal number of put characters (longer text is put unchanged)
+     * @param output buffer to which padded text is put (at its position)
+     * @return given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public static CharBuffer padLeading(CharSequence text, char pad, int expectedLength, CharBuffer output) {
+        text = text == null ? "" : text;
+        for (int i = text.length(); i < expectedLength; i++) {
+            output.put(pad);
+        }
+
+        return putCharacters(text, output);
+    }
+
+    /**
+     * Puts given text into the {@code CharBuffer} with specified character added on the right side to meet requested
+     * length. No intermediate objects are created. See {@link #padTrailing(String, char, int)}.
+     * @param text text to be put (null is treated as an empty text)
+     * @param pad specified character to be added on the right side of the text
+     * @param expectedLength minimal number of put characters (longer text is put unchanged)
+     * @param output buffer to which padded text is put (at its position)
+     * @return given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public static CharBuffer padTrailing(CharSequence text, char pad, int expectedLength, CharBuffer output) {
+        text = text == null ? "" : text;
+        putCharacters(text, output);
+        for (int i = text.length(); i < expectedLength; i++) {
+            output.put(pad);
+        }
+
+        return output;
+    }
+
+    /**
+     * Encodes given text into the {@code ByteBuffer} with specified character added on the left side to meet
+     * requested length in bytes. Text is encoded directly into the buffer (without intermediate arrays) using
+     * ISO-8859-1 or UTF-8; characters which cannot be encoded are replaced by {@code ?}.
+     * @param text text to be encoded (null is treated as an empty text)
+     * @param pad specified character to be added on the left side of the text (has to be encoded by a single byte)
+     * @param expectedLength minimal number of put bytes (longer text is put unchanged)
+     * @param output buffer to which padded text is put (at its position)
+     * @param charset {@link StandardCharsets#ISO_8859_1} or {@link StandardCharsets#UTF_8}
+     * @return given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public static ByteBuffer padLeading(CharSequence text, char pad, int expectedLength, ByteBuffer output, Charset charset) {
+        text = text == null ? "" : text;
+        byte padByte = encodePad(pad, charset);
+        for (int i = getEncodedLength(text, charset); i < expectedLength; i++) {
+            output.put(padByte);
+        }
+
+        return encode(text, output, charset);
+    }
+
+    /**
+     * Encodes given text into the {@code ByteBuffer} with specified character added on the right side to meet
+     * requested length in bytes. See {@link #padLeading(CharSequence, char, int, ByteBuffer, Charset)} for details.
+     * @param text text to be encoded (null is treated as an empty text)
+     * @param pad specified character to be added on the right side of the text (has to be encoded by a single byte)
+     * @param expectedLength minimal number of put bytes (longer text is put unchanged)
+     * @param output buffer to which padded text is put (at its position)
+     * @param charset {@link StandardCharsets#ISO_8859_1} or {@link StandardCharsets#UTF_8}
+     * @return given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public static ByteBuffer padTrailing(CharSequence text, char pad, int expectedLength, ByteBuffer output, Charset charset) {
+        text = text == null ? "" : text;
+        byte padByte = encodePad(pad, charset);
+        int start = output.position();
+        encode(text, output, charset);
+        for (int i = output.position() - start; i < expectedLength; i++) {
+            output.put(padByte);
+        }
+
+        return output;
+    }
+
+    /**
+     * Checks if given {@code String} starts with any of the given possible prefixes. For repeated checks against the
+     * same (large) set of prefixes {@link StringMatcher#matchesPrefix(CharSequence)} should be used instead.
      * @param text {@code String} to be checked
      * @param starters possible prefixes for the {@code String} object
      * @return {@code true} if {@code String} starts with any of the possible prefixes. If given {@code String} was null,
@@ -93,11 +607,20 @@ public class StringUtil {
             return false;
         }
 
-        return Arrays.stream(starters).anyMatch(text::startsWith);
+        for (String starter : starters) {
+            if (text.startsWith(starter)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
-     * Checks if given {@code String} starts with any of the given possible prefixes (ignoring the case).
+     * Checks if given {@code String} starts with any of the given possible prefixes (ignoring the case). Characters
+     * are compared the same way as by {@link String#regionMatches(boolean, int, String, int, int)}, so the result does
+     * not depend on the default locale and no new strings are created. For repeated checks against the same (large)
+     * set of prefixes {@link StringMatcher#ofIgnoreCase(String...)} should be used instead.
      * @param text {@code String} to be checked
      * @param starters possible prefixes for the {@code String} object
      * @return {@code true} if {@code String} starts with any of the possible prefixes. If given {@code String} was null,
@@ -108,12 +631,18 @@ public class StringUtil {
             return false;
         }
 
-        text = text.toLowerCase();
-        return Arrays.stream(starters).map(String::toLowerCase).anyMatch(text::startsWith);
+        for (String starter : starters) {
+            if (text.regionMatches(true, 0, starter, 0, starter.length())) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
-     * Checks if given {@code String} ends with any of the given possible suffixes.
+     * Checks if given {@code String} ends with any of the given possible suffixes. For repeated checks against the
+     * same (large) set of suffixes {@link StringMatcher#matchesSuffix(CharSequence)} should be used instead.
      * @param text {@code String} to be checked
      * @param enders possible suffixes for the {@code String} object
      * @return {@code true} if {@code String} ends with any of the possible suffixes. If given {@code String} was null,
@@ -124,11 +653,20 @@ public class StringUtil {
             return false;
         }
 
-        return Arrays.stream(enders).anyMatch(text::endsWith);
+        for (String ender : enders) {
+            if (text.endsWith(ender)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
-     * Checks if given {@code String} ends with any of the given possible suffixes (ignoring the case).
+     * Checks if given {@code String} ends with any of the given possible suffixes (ignoring the case). Characters are
+     * compared the same way as by {@link String#regionMatches(boolean, int, String, int, int)}, so the result does not
+     * depend on the default locale and no new strings are created. For repeated checks against the same (large) set
+     * of suffixes {@link StringMatcher#ofIgnoreCase(String...)} should be used instead.
      * @param text {@code String} to be checked
      * @param enders possible suffixes for the {@code String} object
      * @return {@code true} if {@code String} ends with any of the possible suffixes. If given {@code String} was null,
@@ -139,8 +677,164 @@ public class StringUtil {
             return false;
         }
 
-        text = text.toLowerCase();
-        return Arrays.stream(enders).map(String::toLowerCase).anyMatch(text::endsWith);
+        for (String ender : enders) {
+            int offset = text.length() - ender.length();
+            if (offset >= 0 && text.regionMatches(true, offset, ender, 0, ender.length())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if all characters of the text are ISO-8859-1 characters (so the text can be processed as bytes).
+     */
+    private static boolean containsOnlyLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns index of the first character within the range of ASCII letters or -1 if there is no such character.
+     */
+    private static int indexOfAsciiLetter(String text, char first, char last) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= first && text.charAt(i) <= last) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Folds the case of the characters of the array in place (from the index to the end). Surrogate pairs are folded
+     * as code points.
+     */
+    private static void foldCase(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isHighSurrogate(chars[i]) && i + 1 < to && Character.isLowSurrogate(chars[i + 1])) {
+                int folded = foldCase(Character.toCodePoint(chars[i], chars[i + 1]));
+                if (Character.isSupplementaryCodePoint(folded)) {
+                    chars[i] = Character.highSurrogate(folded);
+                    chars[i + 1] = Character.lowSurrogate(folded);
+                }
+
+                i++;
+            } else {
+                chars[i] = foldCase(chars[i]);
+            }
+        }
+    }
+
+    private static char foldCase(char character) {
+        if (character < 0x80) {
+            return character >= 'A' && character <= 'Z' ? (char) (character + 'a' - 'A') : character;
+        }
+
+        return Character.toLowerCase(Character.toUpperCase(character));
+    }
+
+    private static int foldCase(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    /**
+     * Returns number of bytes of the text encoded by given charset (see
+     * {@link #padLeading(CharSequence, char, int, ByteBuffer, Charset)}).
+     * @param text text to be measured
+     * @param charset {@link StandardCharsets#ISO_8859_1} or {@link StandardCharsets#UTF_8}
+     * @return number of bytes of the encoded text
+     */
+    static int getEncodedLength(CharSequence text, Charset charset) {
+        if (isLatin1(charset)) {
+            return text.length();
+        }
+
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(character) ? 1 : 3;
+            }
+        }
+
+        return length;
+    }
+
+    private static ByteBuffer encode(CharSequence text, ByteBuffer output, Charset charset) {
+        boolean latin1 = isLatin1(charset);
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character < 0x80) {
+                output.put((byte) character);
+            } else if (latin1) {
+                output.put(character <= 0xFF ? (byte) character : (byte) '?');
+            } else if (character < 0x800) {
+                output.put((byte) (0xC0 | character >> 6)).put((byte) (0x80 | character & 0x3F));
+            } else if (Character.isHighSurrogate(character) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(character, text.charAt(++i));
+                output.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(character)) {
+                output.put((byte) '?');
+            } else {
+                output.put((byte) (0xE0 | character >> 12)).put((byte) (0x80 | character >> 6 & 0x3F)).put((byte) (0x80 | character & 0x3F));
+            }
+        }
+
+        return output;
+    }
+
+    /**
+     * Encodes the pad character, which has to be encoded by a single byte in given charset.
+     * @param pad pad character
+     * @param charset {@link StandardCharsets#ISO_8859_1} or {@link StandardCharsets#UTF_8}
+     * @return encoded pad character
+     */
+    static byte encodePad(char pad, Charset charset) {
+        if (pad >= (isLatin1(charset) ? 0x100 : 0x80)) {
+            throw new IllegalArgumentException("Pad character has to be encoded by a single byte.");
+        }
+
+        return (byte) pad;
+    }
+
+    private static boolean isLatin1(Charset charset) {
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+
+        if (!charset.equals(StandardCharsets.UTF_8)) {
+            throw new IllegalArgumentException("Only ISO-8859-1 and UTF-8 charsets are supported.");
+        }
+
+        return false;
+    }
+
+    private static CharBuffer putCharacters(CharSequence text, CharBuffer output) {
+        if (text instanceof String string) {
+            return output.put(string);
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            output.put(text.charAt(i));
+        }
+
+        return output;
     }
 
 }
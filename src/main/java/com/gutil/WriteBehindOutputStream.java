@@ -0,0 +1,250 @@
+package com.gutil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Output stream appending to the file with write-behind buffering. Small writes are coalesced in memory and written
+ * to the file (with a single system call) when the buffer is full or when the oldest buffered byte waits longer than
+ * the flush interval - whichever comes first. Writes larger than the buffer bypass it.
+ * <p>
+ * Every write of the buffer is forced to the storage device according to the chosen {@link WriteDurability}, so the
+ * cost of forcing is paid once per buffer instead of once per write. Data which is not written yet is lost if the
+ * process crashes - {@link #flush()} can be used to write it explicitly. Errors of background flushes are reported by
+ * the next call of the stream. Stream is thread-safe and should be closed after usage.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class WriteBehindOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BUFFER_SIZE = 65_536;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000L;
+
+    private static final ScheduledExecutorService FLUSH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "write-behind-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long flushIntervalMillis;
+    private final WriteDurability durability;
+    private ScheduledFuture<?> scheduledFlush;
+    private IOException backgroundError;
+    private boolean closed;
+
+    /**
+     * Opens the file for appending with the default buffer size, flush interval and without forcing of writes.
+     * @param file file to be appended (it is created with parent directories if it does not exist)
+     * @throws IOException if file cannot be opened
+     */
+    public WriteBehindOutputStream(File file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS, WriteDurability.NONE);
+    }
+
+    /**
+     * Opens the file for appending.
+     * @param file file to be appended (it is created with parent directories if it does not exist)
+     * @param bufferSize size of the buffer in bytes
+     * @param flushIntervalMillis maximal time for which written bytes are kept in the buffer
+     * @param durability level of durability of every write to the file
+     * @throws IOException if file cannot be opened
+     */
+    public WriteBehindOutputStream(File file, int bufferSize, long flushIntervalMillis, WriteDurability durability) throws IOException {
+        if (bufferSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Buffer size and flush interval have to be positive.");
+        }
+
+        Path path = file.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        boolean created = !Files.exists(path);
+        this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.durability = durability;
+
+        if (created && durability == WriteDurability.FULL) {
+            FileUtil.forceDirectory(path.getParent());
+        }
+    }
+
+    /**
+     * Creates stream writing to an open channel (closed together with the stream).
+     * @param channel channel to which bytes are written
+     * @param bufferSize size of the buffer in bytes
+     * @param flushIntervalMillis maximal time for which written bytes are kept in the buffer
+     * @param durability level of durability of every write to the channel
+     */
+    WriteBehindOutputStream(FileChannel channel, int bufferSize, long flushIntervalMillis, WriteDurability durability) {
+        if (bufferSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Buffer size and flush interval have to be positive.");
+        }
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.durability = durability;
+    }
+
+    @Override
+    public synchronized void write(int value) throws IOException {
+        ensureOpen();
+        if (!buffer.hasRemaining()) {
+            writeBuffer();
+        }
+
+        buffer.put((byte) value);
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        if (length > buffer.remaining()) {
+            writeBuffer();
+        }
+
+        if (length >= buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes, offset, length));
+            force();
+            return;
+        }
+
+        buffer.put(bytes, offset, length);
+        scheduleFlush();
+    }
+
+    /**
+     * Writes buffered bytes to the file (and forces them according to the durability level).
+     * @throws IOException if bytes cannot be written
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        writeBuffer();
+    }
+
+    /**
+     * Writes buffered bytes and closes the file. Buffered bytes are written even if a background flush failed - its
+     * error is thrown afterwards.
+     * @throws IOException if bytes cannot be written, file cannot be closed or a background flush failed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        IOException failure = backgroundError;
+        backgroundError = null;
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            failure = addFailure(failure, e);
+        } finally {
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed.");
+        }
+
+        if (backgroundError != null) {
+            IOException error = backgroundError;
+            backgroundError = null;
+            throw error;
+        }
+    }
+
+    /**
+     * Schedules flush of the buffer after the flush interval (if it is not scheduled yet).
+     */
+    private void scheduleFlush() {
+        if (scheduledFlush == null) {
+            scheduledFlush = FLUSH_SCHEDULER.schedule(this::flushInBackground, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void flushInBackground() {
+        scheduledFlush = null;
+        if (closed) {
+            return;
+        }
+
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            backgroundError = e;
+        }
+    }
+
+    /**
+     * Writes buffered bytes to the file and cancels scheduled flush. If writing fails, bytes which were not written
+     * are kept in the buffer, so they can be written by the next flush.
+     */
+    private void writeBuffer() throws IOException {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (buffer.position() == 0) {
+            return;
+        }
+
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } catch (IOException e) {
+            buffer.compact();
+            throw e;
+        }
+
+        buffer.clear();
+        force();
+    }
+
+    private static IOException addFailure(IOException failure, IOException next) {
+        if (failure == null) {
+            return next;
+        }
+
+        failure.addSuppressed(next);
+        return failure;
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void force() throws IOException {
+        if (durability != WriteDurability.NONE) {
+            channel.force(durability == WriteDurability.FULL);
+        }
+    }
+
+}
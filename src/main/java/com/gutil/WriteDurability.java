@@ -0,0 +1,23 @@
+package com.gutil;
+
+/**
+ * Enum representing levels of durability of writes performed by {@link FileUtil#writeAtomically(java.io.File, byte[],
+ * WriteDurability)} and {@link WriteBehindOutputStream}:
+ * <ul>
+ *  <li>None - data is left in the operating system cache (it can be lost on power failure or system crash)</li>
+ *  <li>Data - content of the file is forced to the storage device (like {@code fdatasync})</li>
+ *  <li>Full - content and metadata of the file are forced to the storage device (like {@code fsync}); atomic writes
+ *  force the parent directory as well, so the replacement of the file survives a crash</li>
+ * </ul>
+ * Higher levels are safer, but every forced write waits for the storage device.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public enum WriteDurability {
+
+    NONE,
+    DATA,
+    FULL,
+    ;
+
+}
@@ -0,0 +1,240 @@
+package com.gutil;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming writer of indented XML documents. Elements are written directly to the output without building a DOM
+ * {@code Document} first, so memory usage does not depend on the size of the document. Output has the same format as
+ * the one produced by {@link XMLUtil#saveDocument(org.w3c.dom.Document, java.io.File, int)}. Writer should be closed
+ * after usage (all elements left open are closed and the underlying output is closed as well).
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class XMLDocumentWriter implements AutoCloseable {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+    private static final int BUFFER_SIZE = 65_536;
+    private static final ThreadLocal<XMLOutputFactory> OUTPUT_FACTORY = ThreadLocal.withInitial(XMLOutputFactory::newInstance);
+
+    private final Writer output;
+    private final XMLStreamWriter writer;
+    private final int indent;
+    private final String lineSeparator = System.lineSeparator();
+    private final List<String> indentations = new ArrayList<>();
+    private final List<String> pendingAttributes = new ArrayList<>();
+    private String pendingElement;
+    private int depth;
+    private boolean[] hasChildElements = new boolean[16];
+    private boolean[] hasText = new boolean[16];
+
+    /**
+     * Creates writer of XML document encoded in UTF-8.
+     * @param output output to which document should be written (will be closed together with the writer)
+     * @param indent length of indentation
+     */
+    public XMLDocumentWriter(OutputStream output, int indent) {
+        this(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE), indent);
+    }
+
+    /**
+     * Creates writer of XML document.
+     * @param output output to which document should be written (will be closed together with the writer)
+     * @param indent length of indentation
+     */
+    public XMLDocumentWriter(Writer output, int indent) {
+        if (indent < 0) {
+            throw new IllegalArgumentException("Indentation cannot be negative.");
+        }
+
+        this.output = output;
+        this.indent = indent;
+        try {
+            output.write(XML_DECLARATION);
+            output.write(lineSeparator);
+            this.writer = OUTPUT_FACTORY.get().createXMLStreamWriter(output);
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException("Could not start writing XML document.", e);
+        }
+    }
+
+    /**
+     * Starts new element (as a child of the current element). Attributes of the element can be added with
+     * {@link #attribute(String, String)} until any content is written.
+     * @param name qualified name of the element
+     * @return this writer
+     */
+    public XMLDocumentWriter startElement(String name) {
+        try {
+            writePendingElement();
+            if (depth > 0) {
+                hasChildElements[depth - 1] = true;
+                if (!hasText[depth - 1]) {
+                    writer.writeCharacters(getIndentation(depth));
+                }
+            }
+
+            pendingElement = name;
+            push();
+            return this;
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not write XML element " + name + ".", e);
+        }
+    }
+
+    /**
+     * Adds attribute to the element started by the last call of {@link #startElement(String)}.
+     * @param name qualified name of the attribute
+     * @param value value of the attribute
+     * @return this writer
+     * @throws IllegalStateException if any content was already written to the current element
+     */
+    public XMLDocumentWriter attribute(String name, String value) {
+        if (pendingElement == null) {
+            throw new IllegalStateException("Attribute " + name + " can be added only directly after start of an element.");
+        }
+
+        pendingAttributes.add(name);
+        pendingAttributes.add(value);
+        return this;
+    }
+
+    /**
+     * Writes text content of the current element (special characters are escaped).
+     * @param text text to be written
+     * @return this writer
+     */
+    public XMLDocumentWriter text(String text) {
+        if (depth == 0) {
+            throw new IllegalStateException("Text can be written only inside of an element.");
+        }
+
+        try {
+            writePendingElement();
+            writer.writeCharacters(text);
+            hasText[depth - 1] = true;
+            return this;
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not write XML text.", e);
+        }
+    }
+
+    /**
+     * Writes whole element containing only text.
+     * @param name qualified name of the element
+     * @param text text content of the element
+     * @return this writer
+     */
+    public XMLDocumentWriter element(String name, String text) {
+        return startElement(name).text(text).endElement();
+    }
+
+    /**
+     * Ends the current element. Elements without any content are written as empty elements (e.g. {@code <child/>}).
+     * @return this writer
+     */
+    public XMLDocumentWriter endElement() {
+        if (depth == 0) {
+            throw new IllegalStateException("There is no open XML element to be ended.");
+        }
+
+        try {
+            if (pendingElement != null) {
+                writer.writeEmptyElement(pendingElement);
+                writePendingAttributes();
+            } else {
+                if (hasChildElements[depth - 1] && !hasText[depth - 1]) {
+                    writer.writeCharacters(getIndentation(depth - 1));
+                }
+
+                writer.writeEndElement();
+            }
+
+            depth--;
+            return this;
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not end XML element.", e);
+        }
+    }
+
+    /**
+     * Flushes already written content to the underlying output.
+     */
+    public void flush() {
+        try {
+            writer.flush();
+            output.flush();
+        } catch (XMLStreamException | IOException e) {
+            throw new RuntimeException("Could not flush XML document.", e);
+        }
+    }
+
+    /**
+     * Ends all open elements and the document and closes the underlying output.
+     */
+    @Override
+    public void close() {
+        try (output) {
+            while (depth > 0) {
+                endElement();
+            }
+
+            writer.writeEndDocument();
+            writer.close();
+            output.write(lineSeparator);
+        } catch (XMLStreamException | IOException e) {
+            throw new RuntimeException("Could not close XML document.", e);
+        }
+    }
+
+    private void writePendingElement() throws XMLStreamException {
+        if (pendingElement != null) {
+            writer.writeStartElement(pendingElement);
+            writePendingAttributes();
+        }
+    }
+
+    private void writePendingAttributes() throws XMLStreamException {
+        for (int i = 0; i < pendingAttributes.size(); i += 2) {
+            writer.writeAttribute(pendingAttributes.get(i), pendingAttributes.get(i + 1));
+        }
+
+        pendingAttributes.clear();
+        pendingElement = null;
+    }
+
+    private void push() {
+        if (depth == hasChildElements.length) {
+            hasChildElements = Arrays.copyOf(hasChildElements, depth * 2);
+            hasText = Arrays.copyOf(hasText, depth * 2);
+        }
+
+        hasChildElements[depth] = false;
+        hasText[depth] = false;
+        depth++;
+    }
+
+    /**
+     * Returns line separator followed by indentation for the specific depth (cached, as the same depths repeat).
+     * @param level depth of the element
+     * @return indentation string
+     */
+    private String getIndentation(int level) {
+        while (indentations.size() <= level) {
+            indentations.add(lineSeparator + " ".repeat(indentations.size() * indent));
+        }
+
+        return indentations.get(level);
+    }
+
+}
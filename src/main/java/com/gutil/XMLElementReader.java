@@ -0,0 +1,174 @@
+package com.gutil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull-based streaming reader of XML elements. Elements are returned one at a time in the document order (parents
+ * before their children) as {@link XMLStreamElement} objects, so memory usage does not depend on the size of the
+ * document. Reader should be closed after usage (it closes underlying input as well).
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public class XMLElementReader implements Iterator<XMLStreamElement>, AutoCloseable {
+
+    static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    });
+
+    private final InputStream input;
+    private final XMLStreamReader reader;
+    private int depth = -1;
+    private boolean atStartElement;
+    private XMLStreamElement nextElement;
+
+    /**
+     * Creates reader of XML elements from the specific input.
+     * @param input input containing XML document (will be closed together with the reader)
+     * @param systemId system identifier of the document used for resolving relative URIs (can be null)
+     */
+    public XMLElementReader(InputStream input, String systemId) {
+        this.input = input;
+        try {
+            this.reader = INPUT_FACTORY.get().createXMLStreamReader(systemId, input);
+        } catch (XMLStreamException e) {
+            closeInput();
+            throw new RuntimeException("Could not open XML stream.", e);
+        }
+    }
+
+    /**
+     * Returns remaining elements of the document as a sequential {@code Stream}. Closing the stream closes the reader.
+     * @return stream of remaining elements
+     */
+    public Stream<XMLStreamElement> stream() {
+        Spliterator<XMLStreamElement> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextElement == null) {
+            nextElement = readNextElement();
+        }
+
+        return nextElement != null;
+    }
+
+    @Override
+    public XMLStreamElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more XML elements in the stream.");
+        }
+
+        XMLStreamElement element = nextElement;
+        nextElement = null;
+        return element;
+    }
+
+    /**
+     * Closes the reader and the underlying input.
+     */
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not close XML stream.", e);
+        } finally {
+            closeInput();
+        }
+    }
+
+    /**
+     * Moves the cursor to the next start of an element and reads it (with text content in case of the leaf element).
+     * @return next element or null if end of the document was reached
+     */
+    private XMLStreamElement readNextElement() {
+        try {
+            while (!atStartElement) {
+                if (!reader.hasNext()) {
+                    return null;
+                }
+
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    atStartElement = true;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+
+            atStartElement = false;
+            depth++;
+
+            String prefix = reader.getPrefix();
+            String localName = reader.getLocalName();
+            String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+            String namespaceURI = reader.getNamespaceURI();
+            int elementDepth = depth;
+            Map<String, String> attributes = readAttributes();
+
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    atStartElement = true;
+                    return new XMLStreamElement(name, namespaceURI, elementDepth, attributes, null);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    return new XMLStreamElement(name, namespaceURI, elementDepth, attributes, text.toString());
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not read XML element from stream.", e);
+        }
+    }
+
+    /**
+     * Reads attributes of the element at the current position of the cursor.
+     * @return unmodifiable map of attributes (qualified name to value)
+     */
+    private Map<String, String> readAttributes() {
+        int count = reader.getAttributeCount();
+        if (count == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String localName = reader.getAttributeLocalName(i);
+            String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+            attributes.put(name, reader.getAttributeValue(i));
+        }
+
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private void closeInput() {
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close XML input.", e);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.gutil;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader which splits XML document into small standalone documents - one per each record element (element
+ * with specific tag). Only a single record is kept in memory at a time. Record elements nested inside of another
+ * record are part of the outer record.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class XMLFragmentReader implements AutoCloseable {
+
+    private final InputStream input;
+    private final XMLStreamReader reader;
+    private final String recordTag;
+
+    /**
+     * Creates reader of the record fragments.
+     * @param input input containing XML document (will be closed together with the reader)
+     * @param systemId system identifier of the document used for resolving relative URIs (can be null)
+     * @param recordTag qualified name of the record elements
+     */
+    XMLFragmentReader(InputStream input, String systemId, String recordTag) throws XMLStreamException {
+        this.input = input;
+        this.recordTag = recordTag;
+        this.reader = XMLElementReader.INPUT_FACTORY.get().createXMLStreamReader(systemId, input);
+    }
+
+    /**
+     * Reads next record of the document.
+     * @return document with the record as its root element or null if there are no more records
+     */
+    Document nextFragment() throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && recordTag.equals(getQualifiedName(reader.getPrefix(), reader.getLocalName()))) {
+                return readFragment();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws XMLStreamException, IOException {
+        try (input) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Builds document from the subtree of the record element at the current position of the cursor. Documents are
+     * built the same way as by the default {@code DocumentBuilder} (without namespace awareness).
+     * @return document with the record as its root element
+     */
+    private Document readFragment() throws XMLStreamException {
+        Document document = XMLUtil.createNewDocument();
+        Node parent = document;
+        int depth = 0;
+        int event = XMLStreamConstants.START_ELEMENT;
+        do {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    Element element = createElement(document, depth == 0);
+                    parent.appendChild(element);
+                    parent = element;
+                    depth++;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    parent = parent.getParentNode();
+                    depth--;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE ->
+                        parent.appendChild(document.createTextNode(reader.getText()));
+                case XMLStreamConstants.CDATA -> parent.appendChild(document.createCDATASection(reader.getText()));
+                case XMLStreamConstants.COMMENT -> parent.appendChild(document.createComment(reader.getText()));
+                case XMLStreamConstants.PROCESSING_INSTRUCTION ->
+                        parent.appendChild(document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                default -> {
+                    // other events do not appear inside of elements or are already resolved by the reader
+                }
+            }
+        } while (depth > 0 && (event = reader.next()) != XMLStreamConstants.END_DOCUMENT);
+
+        return document;
+    }
+
+    /**
+     * Creates element from the start element at the current position of the cursor (with attributes and namespace
+     * declarations). Record element gets also declaration of its own namespace if it was declared by an ancestor.
+     * @param document document in which element should be created
+     * @param record {@code true} if element is the record element
+     * @return created element
+     */
+    private Element createElement(Document document, boolean record) {
+        String prefix = reader.getPrefix();
+        Element element = document.createElement(getQualifiedName(prefix, reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            element.setAttribute(getNamespaceDeclaration(reader.getNamespacePrefix(i)), reader.getNamespaceURI(i));
+        }
+
+        String namespaceDeclaration = getNamespaceDeclaration(prefix);
+        if (record && reader.getNamespaceURI() != null && !element.hasAttribute(namespaceDeclaration)) {
+            element.setAttribute(namespaceDeclaration, reader.getNamespaceURI());
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(getQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+        }
+
+        return element;
+    }
+
+    private static String getQualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String getNamespaceDeclaration(String prefix) {
+        return prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+    }
+
+}
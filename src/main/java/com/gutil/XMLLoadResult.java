@@ -0,0 +1,26 @@
+package com.gutil;
+
+import org.w3c.dom.Document;
+
+import java.io.File;
+
+/**
+ * Result of loading a single XML document by {@link XMLUtil#loadDocuments(java.util.Collection)} and related methods.
+ * Exactly one of {@code document} and {@code error} is set.
+ * @param file file from which document was loaded
+ * @param document loaded document (null if loading failed)
+ * @param error error which occurred while loading the document (null if loading succeeded)
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public record XMLLoadResult(File file, Document document, RuntimeException error) {
+
+    /**
+     * Checks if document was loaded successfully.
+     * @return {@code true} if document was loaded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.gutil;
+
+import java.util.Map;
+
+/**
+ * Lightweight representation of a single XML element read by {@link XMLElementReader}. Unlike DOM {@code Element}
+ * it is detached from the rest of the document, so it can be processed and discarded independently.
+ * @param name qualified name of the element (e.g. {@code ns:record})
+ * @param namespaceURI namespace URI of the element (can be null if element is not bound to any namespace)
+ * @param depth depth of the element in the document (0 for the root element)
+ * @param attributes attributes of the element in the document order (keys are qualified names)
+ * @param text text content of the element if it contains only text (null if it contains child elements)
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+public record XMLStreamElement(String name, String namespaceURI, int depth, Map<String, String> attributes, String text) {
+
+    /**
+     * Returns value of the specific attribute.
+     * @param attributeName qualified name of the attribute
+     * @return value of the attribute or null if element does not have such attribute
+     */
+    public String getAttribute(String attributeName) {
+        return attributes.get(attributeName);
+    }
+
+    /**
+     * Checks if element contains only text (no child elements).
+     * @return {@code true} if element has no child elements
+     */
+    public boolean isLeaf() {
+        return text != null;
+    }
+
+}
@@ -5,7 +5,13 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSParser;
+import org.w3c.dom.ls.LSParserFilter;
+import org.w3c.dom.traversal.NodeFilter;
+import org.xml.sax.InputSource;
 
+import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -15,11 +21,45 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
 
 /**
  * Utility class for operations on XML documents.
@@ -29,18 +69,32 @@ import java.io.Writer;
 public class XMLUtil {
 
     public static final int DEFAULT_INDENT = 4;
+    public static final int XPATH_CACHE_SIZE = 256;
+    public static final int DEFAULT_MAX_DOCUMENTS_IN_FLIGHT = 64;
+
+    private static final String INDENT_AMOUNT = "{http://xml.apache.org/xslt}indent-amount";
+    private static final long MAPPING_THRESHOLD = 1_048_576L;
+    private static final int CHANNEL_BUFFER_SIZE = 1_048_576;
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal.withInitial(() -> {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new RuntimeException("Could not create XML document builder.", e);
+        }
+    });
+    private static final ThreadLocal<TransformerFactory> TRANSFORMER_FACTORY = ThreadLocal.withInitial(TransformerFactory::newInstance);
+    private static final ThreadLocal<Map<Integer, Transformer>> TRANSFORMERS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_EXPRESSIONS = ThreadLocal.withInitial(() -> new LruCache<>(XPATH_CACHE_SIZE));
+    private static final ThreadLocal<LSParser> STRIPPING_PARSER = ThreadLocal.withInitial(XMLUtil::createStrippingParser);
 
     /**
      * Creates new empty XML document.
      * @return empty XML document
      */
     public static Document createNewDocument() {
-        try {
-            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-            return builder.newDocument();
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException("Could not create new XML document", e);
-        }
+        return getDocumentBuilder().newDocument();
     }
 
     /**
@@ -56,13 +110,15 @@ public class XMLUtil {
     }
 
     /**
-     * Creates default {@code Transformer} with indentation set to value of the {@code indent} parameter.
+     * Creates default {@code Transformer} with indentation set to value of the {@code indent} parameter. Created
+     * instance is not cached, so it can be freely configured and shared (for cached instances see
+     * {@link #getDefaultTransformer(int)}).
      * @param indent length of indentation
      * @return default {@code Transformer} for working with XML documents
      */
     public static Transformer createDefaultTransformer(int indent) {
         try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
+            TransformerFactory transformerFactory = TRANSFORMER_FACTORY.get();
             transformerFactory.setAttribute("indent-number", indent);
             Transformer transformer = transformerFactory.newTransformer();
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
@@ -72,6 +128,50 @@ public class XMLUtil {
         }
     }
 
+    /**
+     * Returns default {@code Transformer} with indentation set to value of the {@code indent} parameter. Instances are
+     * cached per thread (and per indentation) and {@linkplain Transformer#reset() reset} before being returned, so
+     * they should be used only by the calling thread and only until the next call of this method.
+     * @param indent length of indentation
+     * @return cached default {@code Transformer} for working with XML documents
+     */
+    public static Transformer getDefaultTransformer(int indent) {
+        Transformer transformer = TRANSFORMERS.get().computeIfAbsent(indent, XMLUtil::createDefaultTransformer);
+        transformer.reset();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty(INDENT_AMOUNT, String.valueOf(indent));
+        return transformer;
+    }
+
+    /**
+     * Returns default {@code Transformer} with indentation set to value of the {@code indent} parameter and with
+     * additional output properties (e.g. {@link OutputKeys#ENCODING}). See {@link #getDefaultTransformer(int)} for
+     * restrictions of cached instances.
+     * @param indent length of indentation
+     * @param outputProperties output properties to be set on the transformer
+     * @return cached {@code Transformer} for working with XML documents
+     */
+    public static Transformer getDefaultTransformer(int indent, Properties outputProperties) {
+        Transformer transformer = getDefaultTransformer(indent);
+        for (String name : outputProperties.stringPropertyNames()) {
+            transformer.setOutputProperty(name, outputProperties.getProperty(name));
+        }
+
+        return transformer;
+    }
+
+    /**
+     * Returns {@code DocumentBuilder} cached for the calling thread. Builder is {@linkplain DocumentBuilder#reset()
+     * reset} before being returned, so it should be used only by the calling thread and only until the next call of
+     * this method.
+     * @return cached {@code DocumentBuilder}
+     */
+    public static DocumentBuilder getDocumentBuilder() {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        builder.reset();
+        return builder;
+    }
+
     /**
      * Loads XML document from the specific file.
      * @param file file from which document should be loaded
@@ -79,13 +179,267 @@ public class XMLUtil {
      */
     public static Document loadDocumentFromFile(File file) {
         try {
-            DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-            return documentBuilder.parse(file);
+            return getDocumentBuilder().parse(file);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load XML document from file " + file.getAbsolutePath() + ".", e);
+        }
+    }
+
+    /**
+     * Loads XML document from the specific file using NIO channel. Large files are memory-mapped, so they are parsed
+     * directly from the page cache without copying through intermediate stream buffers; smaller files are read with
+     * a single read operation.
+     * @param path path of the file from which document should be loaded
+     * @return XML document as {@link Document} object
+     */
+    public static Document loadDocumentFromPath(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            InputStream input;
+            if (size < MAPPING_THRESHOLD) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read until whole file is in the buffer
+                }
+                input = new ByteArrayInputStream(buffer.array(), 0, buffer.position());
+            } else if (size <= Integer.MAX_VALUE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                input = new ByteBufferInputStream(buffer);
+            } else {
+                input = new BufferedInputStream(Channels.newInputStream(channel), CHANNEL_BUFFER_SIZE);
+            }
+
+            return parse(input, path.toUri().toString());
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load XML document from file " + path.toAbsolutePath() + ".", e);
+        }
+    }
+
+    /**
+     * Loads XML document from remaining bytes of the buffer (e.g. payload already kept in memory). Position of the
+     * buffer is not changed.
+     * @param buffer buffer containing the document
+     * @return XML document as {@link Document} object
+     */
+    public static Document loadDocumentFromBuffer(ByteBuffer buffer) {
+        try {
+            return parse(new ByteBufferInputStream(buffer), null);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load XML document from buffer.", e);
+        }
+    }
+
+    /**
+     * Loads XML document from the byte array.
+     * @param bytes bytes of the document
+     * @return XML document as {@link Document} object
+     */
+    public static Document loadDocumentFromBytes(byte[] bytes) {
+        try {
+            return parse(new ByteArrayInputStream(bytes), null);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load XML document from bytes.", e);
+        }
+    }
+
+    /**
+     * Loads XML document from the specific file. If {@code stripWhitespace} is set, text nodes containing only
+     * {@linkplain Character#isWhitespace(int) white spaces} (e.g. indentation) are dropped while the document is
+     * being parsed, so they are never created and do not have to be stripped before the document is saved.
+     * @param file file from which document should be loaded
+     * @param stripWhitespace {@code true} if blank text nodes should be dropped
+     * @return XML document as {@link Document} object
+     */
+    public static Document loadDocumentFromFile(File file, boolean stripWhitespace) {
+        if (!stripWhitespace) {
+            return loadDocumentFromFile(file);
+        }
+
+        try {
+            return STRIPPING_PARSER.get().parseURI(file.toURI().toString());
         } catch (Exception e) {
             throw new RuntimeException("Could not load XML document from file " + file.getAbsolutePath() + ".", e);
         }
     }
 
+    /**
+     * Loads XML documents from the specific files in parallel (using as many threads as there are available
+     * processors and at most {@link #DEFAULT_MAX_DOCUMENTS_IN_FLIGHT} documents in flight). Failure of a single file
+     * does not stop loading of other files - it is reported in its result.
+     * @param files files from which documents should be loaded
+     * @return results of loading (in the same order as given files)
+     */
+    public static List<XMLLoadResult> loadDocuments(Collection<File> files) {
+        List<File> fileList = List.copyOf(files);
+        if (fileList.isEmpty()) {
+            return List.of();
+        }
+
+        XMLLoadResult[] results = new XMLLoadResult[fileList.size()];
+        ExecutorService executor = createLoaderExecutor();
+        try {
+            int maxInFlight = Math.min(fileList.size(), DEFAULT_MAX_DOCUMENTS_IN_FLIGHT);
+            loadDocuments(fileList, executor, maxInFlight, (result, index) -> results[index] = result);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Loads XML documents from all files with {@code .xml} extension in the specific directory (subdirectories are
+     * not searched) in parallel. See {@link #loadDocuments(Collection)} for details.
+     * @param directory directory containing XML files
+     * @return results of loading (in the order of file names)
+     */
+    public static List<XMLLoadResult> loadDocumentsFromDirectory(File directory) {
+        File[] files = directory.listFiles(file -> file.isFile() && StringUtil.endsWithAnyIgnoreCase(file.getName(), ".xml"));
+        if (files == null) {
+            throw new IllegalArgumentException("Cannot load XML documents from " + directory + " - not a directory.");
+        }
+
+        Arrays.sort(files);
+        return loadDocuments(Arrays.asList(files));
+    }
+
+    /**
+     * Loads XML documents from the specific files in parallel using a specific {@code Executor}. Results are passed
+     * to the consumer in the calling thread in the order of completion. At most {@code maxInFlight} documents are
+     * loaded or waiting for the consumer at the same time, so slow consumer does not cause unbounded memory usage.
+     * @param files files from which documents should be loaded
+     * @param executor executor used for loading of the documents
+     * @param maxInFlight maximal number of documents being loaded or waiting for the consumer
+     * @param consumer consumer of the results (called in the calling thread)
+     */
+    public static void loadDocuments(Collection<File> files, Executor executor, int maxInFlight, Consumer<XMLLoadResult> consumer) {
+        loadDocuments(List.copyOf(files), executor, maxInFlight, (result, index) -> consumer.accept(result));
+    }
+
+    /**
+     * Opens streaming reader of XML elements from the specific file. Contrary to {@link #loadDocumentFromFile(File)}
+     * the document is not loaded into memory - elements are read one at a time. Reader has to be closed after usage.
+     * @param file file from which elements should be read
+     * @return reader of XML elements
+     */
+    public static XMLElementReader openElementReader(File file) {
+        try {
+            return new XMLElementReader(new FileInputStream(file), file.toURI().toString());
+        } catch (Exception e) {
+            throw new RuntimeException("Could not open XML stream from file " + file.getAbsolutePath() + ".", e);
+        }
+    }
+
+    /**
+     * Returns elements of the XML document from the specific file as a lazy {@code Stream} (parents before their
+     * children). Stream has to be closed after usage (e.g. with try-with-resources statement).
+     * @param file file from which elements should be read
+     * @return stream of XML elements
+     */
+    public static Stream<XMLStreamElement> streamElements(File file) {
+        return openElementReader(file).stream();
+    }
+
+    /**
+     * Reads all elements of the XML document from the specific file one by one and passes them to the consumer.
+     * Memory usage does not depend on the size of the file.
+     * @param file file from which elements should be read
+     * @param consumer consumer of the elements (called in the document order)
+     */
+    public static void readElements(File file, Consumer<XMLStreamElement> consumer) {
+        try (XMLElementReader reader = openElementReader(file)) {
+            reader.forEachRemaining(consumer);
+        }
+    }
+
+    /**
+     * Splits XML document from the specific file into records and passes each of them to the consumer as a small
+     * standalone document (with the record element as its root). File is streamed, so only a single record is kept in
+     * memory at a time, which allows processing of huge files with millions of records using DOM API.
+     * @param file file from which records should be read
+     * @param recordTag tag of the record elements (records nested inside of another record are not split)
+     * @param consumer consumer of the records
+     * @return number of processed records
+     */
+    public static long splitDocument(File file, String recordTag, Consumer<Document> consumer) {
+        long count = 0;
+        try (XMLFragmentReader reader = new XMLFragmentReader(new FileInputStream(file), file.toURI().toString(), recordTag)) {
+            Document fragment;
+            while ((fragment = reader.nextFragment()) != null) {
+                consumer.accept(fragment);
+                count++;
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not split XML document from file " + file.getAbsolutePath() + ".", e);
+        }
+
+        return count;
+    }
+
+    /**
+     * Splits XML document from the specific file into records (see {@link #splitDocument(File, String, Consumer)})
+     * and processes them in parallel using a specific {@code Executor}. File is read in the calling thread, which
+     * waits if {@code maxInFlight} records are already waiting for processing or being processed. If consumer throws
+     * an exception, reading is stopped and the first exception is rethrown after all submitted records are processed
+     * (errors are rethrown as they are, other exceptions are wrapped in {@code RuntimeException}).
+     * @param file file from which records should be read
+     * @param recordTag tag of the record elements
+     * @param consumer consumer of the records (has to be thread-safe)
+     * @param executor executor used for processing of the records
+     * @param maxInFlight maximal number of records waiting for processing or being processed
+     * @return number of processed records
+     */
+    public static long splitDocument(File file, String recordTag, Consumer<Document> consumer, Executor executor, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximal number of records in flight has to be positive.");
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long count = 0;
+        try (XMLFragmentReader reader = new XMLFragmentReader(new FileInputStream(file), file.toURI().toString(), recordTag)) {
+            Document fragment;
+            while (failure.get() == null && (fragment = reader.nextFragment()) != null) {
+                inFlight.acquire();
+                Document record = fragment;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            consumer.accept(record);
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Splitting of XML document was interrupted.", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not split XML document from file " + file.getAbsolutePath() + ".", e);
+        } finally {
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+
+        if (failure.get() instanceof Error error) {
+            throw error;
+        } else if (failure.get() != null) {
+            throw new RuntimeException("Error while processing XML record.", failure.get());
+        }
+
+        return count;
+    }
+
     /**
      * Returns root element of the XML document. If document is null, no exception is thrown and null is returned.
      * @param document document from which root element should be returned
@@ -95,13 +449,85 @@ public class XMLUtil {
         return document != null ? document.getDocumentElement() : null;
     }
 
+    /**
+     * Returns compiled XPath expression. Compiled expressions are cached per thread (up to {@link #XPATH_CACHE_SIZE}
+     * least recently used expressions), so returned expression should be used only by the calling thread.
+     * @param expression XPath expression (e.g. {@code /root/child[@attr='test']})
+     * @return compiled XPath expression
+     */
+    public static XPathExpression compileXPath(String expression) {
+        Map<String, XPathExpression> expressions = XPATH_EXPRESSIONS.get();
+        XPathExpression compiledExpression = expressions.get(expression);
+        if (compiledExpression == null) {
+            try {
+                compiledExpression = XPATH.get().compile(expression);
+            } catch (XPathExpressionException e) {
+                throw new RuntimeException("Could not compile XPath expression " + expression + ".", e);
+            }
+
+            expressions.put(expression, compiledExpression);
+        }
+
+        return compiledExpression;
+    }
+
+    /**
+     * Evaluates XPath expression and returns its result as a {@code String} (e.g. text content of the first matching
+     * element or value of the attribute).
+     * @param node context node of the evaluation (e.g. document or any element)
+     * @param expression XPath expression
+     * @return result of the expression (empty {@code String} if nothing matches)
+     */
+    public static String evaluateString(Node node, String expression) {
+        return (String) evaluate(node, expression, XPathConstants.STRING);
+    }
+
+    /**
+     * Evaluates XPath expression and returns its result as an {@code int}.
+     * @param node context node of the evaluation (e.g. document or any element)
+     * @param expression XPath expression
+     * @return result of the expression
+     * @throws NumberFormatException if result of the expression is not an integer
+     */
+    public static int evaluateInt(Node node, String expression) {
+        return Integer.parseInt(evaluateString(node, expression).strip());
+    }
+
+    /**
+     * Evaluates XPath expression and returns the first matching element.
+     * @param node context node of the evaluation (e.g. document or any element)
+     * @param expression XPath expression
+     * @return first matching element (can be null if nothing matches)
+     */
+    public static Element evaluateElement(Node node, String expression) {
+        return evaluate(node, expression, XPathConstants.NODE) instanceof Element element ? element : null;
+    }
+
+    /**
+     * Evaluates XPath expression and returns all matching elements (in the document order).
+     * @param node context node of the evaluation (e.g. document or any element)
+     * @param expression XPath expression
+     * @return list of matching elements (can be empty)
+     */
+    public static List<Element> evaluateElements(Node node, String expression) {
+        NodeList nodes = (NodeList) evaluate(node, expression, XPathConstants.NODESET);
+        List<Element> elements = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i) instanceof Element element) {
+                elements.add(element);
+            }
+        }
+
+        return elements;
+    }
+
     /**
      * Converts XML document to its {@code String} representation using default XML {@link Transformer}.
      * @param document document to be converted
      * @return {@code String} representation of the XML document
      */
     public static String toString(Document document) {
-        return toString(document, createDefaultTransformer(DEFAULT_INDENT));
+        return toString(document, getDefaultTransformer(DEFAULT_INDENT));
     }
 
     /**
@@ -112,11 +538,8 @@ public class XMLUtil {
      */
     public static String toString(Document document, Transformer transformer) {
         try {
-            Element root = getRootElement(document);
-            stripElement(root);
-
             StringWriter writer = new StringWriter();
-            transform(document, transformer, writer);
+            transform(stripDocument(document), transformer, writer);
             return writer.toString().strip();
         } catch (Exception e) {
             throw new RuntimeException("Could not convert XML document to String.", e);
@@ -139,7 +562,7 @@ public class XMLUtil {
      * @param indent length of indentation
      */
     public static void saveDocument(Document document, File file, int indent) {
-        saveDocument(document, file, createDefaultTransformer(indent));
+        saveDocument(document, file, getDefaultTransformer(indent));
     }
 
     /**
@@ -150,13 +573,116 @@ public class XMLUtil {
      */
     public static void saveDocument(Document document, File file, Transformer transformer) {
         try(FileOutputStream output = new FileOutputStream(file)) {
-            stripElement(document.getDocumentElement());
-            transform(document, transformer, output);
+            transform(stripDocument(document), transformer, output);
         } catch (Exception e) {
             throw new RuntimeException("Error while saving XML document.", e);
         }
     }
 
+    /**
+     * Opens streaming writer of XML document to the specific file using the default indentation. Contrary to
+     * {@link #saveDocument(Document, File)} no {@code Document} has to be built - elements are written directly to the
+     * file. Writer has to be closed after usage.
+     * @param file file in the file system to which the document should be written
+     * @return writer of XML document
+     */
+    public static XMLDocumentWriter openDocumentWriter(File file) {
+        return openDocumentWriter(file, DEFAULT_INDENT);
+    }
+
+    /**
+     * Opens streaming writer of XML document to the specific file with a specific size of the indentation. Writer has
+     * to be closed after usage.
+     * @param file file in the file system to which the document should be written
+     * @param indent length of indentation
+     * @return writer of XML document
+     */
+    public static XMLDocumentWriter openDocumentWriter(File file, int indent) {
+        try {
+            return new XMLDocumentWriter(new FileOutputStream(file), indent);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not open XML document writer for file " + file.getAbsolutePath() + ".", e);
+        }
+    }
+
+    /**
+     * Parses XML document using cached {@code DocumentBuilder}.
+     * @param input input containing the document
+     * @param systemId system identifier of the document used for resolving relative URIs (can be null)
+     * @return parsed document
+     */
+    private static Document parse(InputStream input, String systemId) throws Exception {
+        InputSource source = new InputSource(input);
+        source.setSystemId(systemId);
+        return getDocumentBuilder().parse(source);
+    }
+
+    /**
+     * Loads XML documents in parallel with limited number of documents in flight.
+     * @param files files from which documents should be loaded
+     * @param executor executor used for loading of the documents
+     * @param maxInFlight maximal number of documents being loaded or waiting for the consumer
+     * @param consumer consumer of the results and indexes of their files
+     */
+    private static void loadDocuments(List<File> files, Executor executor, int maxInFlight, ObjIntConsumer<XMLLoadResult> consumer) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximal number of documents in flight has to be positive.");
+        }
+
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+        XMLLoadResult[] results = new XMLLoadResult[files.size()];
+        int submitted = 0;
+        try {
+            for (int completed = 0; completed < files.size(); completed++) {
+                while (submitted < files.size() && submitted - completed < maxInFlight) {
+                    int index = submitted++;
+                    completionService.submit(() -> {
+                        File file = files.get(index);
+                        try {
+                            results[index] = new XMLLoadResult(file, loadDocumentFromFile(file), null);
+                        } catch (RuntimeException e) {
+                            results[index] = new XMLLoadResult(file, null, e);
+                        }
+                        return index;
+                    });
+                }
+
+                int index = completionService.take().get();
+                XMLLoadResult result = results[index];
+                results[index] = null;
+                consumer.accept(result, index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Loading of XML documents was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while loading XML documents.", e.getCause());
+        }
+    }
+
+    private static ExecutorService createLoaderExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "xml-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Evaluates cached XPath expression.
+     * @param node context node of the evaluation
+     * @param expression XPath expression
+     * @param returnType expected type of the result (one of {@link XPathConstants})
+     * @return result of the expression
+     */
+    private static Object evaluate(Node node, String expression, QName returnType) {
+        try {
+            return compileXPath(expression).evaluate(node, returnType);
+        } catch (XPathExpressionException e) {
+            throw new RuntimeException("Could not evaluate XPath expression " + expression + ".", e);
+        }
+    }
+
     /**
      * Transforms the XML document.
      * @param document document to be transformed
@@ -182,23 +708,109 @@ public class XMLUtil {
     }
 
     /**
-     * Strips XML element by removing {@linkplain Character#isWhitespace(int) white spaces}.
-     * @param element element to be stripped
+     * Returns XML document without text nodes containing only {@linkplain Character#isWhitespace(int) white spaces}.
+     * Original document is never modified - if it contains any blank text nodes, a stripped copy is returned. Document
+     * is traversed iteratively, so even very deep documents can be stripped.
+     * @param document document to be stripped
+     * @return original document if it does not contain blank text nodes, stripped copy otherwise
      */
-    private static void stripElement(Element element) {
-        if (element == null) {
-            return;
+    private static Document stripDocument(Document document) {
+        Node node = document.getDocumentElement();
+        while (node != null && !isBlankText(node)) {
+            node = nextNode(node, document);
         }
 
-        NodeList children = element.getChildNodes();
-        for (int i = children.getLength() - 1; i >= 0; i--) {
-            Node child = children.item(i);
-            if (child instanceof Text text && text.getData().isBlank()) {
-                element.removeChild(child);
-            } else if (child instanceof Element childElement) {
-                stripElement(childElement);
+        return node == null ? document : copyWithoutBlankText(document);
+    }
+
+    /**
+     * Creates copy of the XML document without blank text nodes.
+     * @param document document to be copied
+     * @return stripped copy of the document
+     */
+    private static Document copyWithoutBlankText(Document document) {
+        Document copy = createNewDocument();
+        copy.setXmlStandalone(document.getXmlStandalone());
+        copy.setXmlVersion(document.getXmlVersion());
+
+        Node node = document.getFirstChild();
+        Node parent = copy;
+        while (node != null) {
+            if (!isBlankText(node) && node.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+                boolean entityReference = node.getNodeType() == Node.ENTITY_REFERENCE_NODE;
+                Node imported = copy.importNode(node, entityReference);
+                parent.appendChild(imported);
+                if (!entityReference && node.getFirstChild() != null) {
+                    parent = imported;
+                    node = node.getFirstChild();
+                    continue;
+                }
+            }
+
+            while (node.getNextSibling() == null) {
+                node = node.getParentNode();
+                if (node == document) {
+                    return copy;
+                }
+
+                parent = parent.getParentNode();
             }
+
+            node = node.getNextSibling();
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns next node of the pre-order traversal of the tree.
+     * @param node current node
+     * @param root root of the traversed tree
+     * @return next node or null if whole tree was traversed
+     */
+    private static Node nextNode(Node node, Node root) {
+        if (node.getFirstChild() != null) {
+            return node.getFirstChild();
+        }
+
+        while (node != root && node.getNextSibling() == null) {
+            node = node.getParentNode();
         }
+
+        return node == root ? null : node.getNextSibling();
+    }
+
+    private static boolean isBlankText(Node node) {
+        return node instanceof Text text && text.getData().isBlank();
+    }
+
+    /**
+     * Creates DOM parser which drops blank text nodes while building the document. Apart from that it is configured
+     * the same way as the default {@link DocumentBuilder}.
+     * @return DOM parser
+     */
+    private static LSParser createStrippingParser() {
+        DOMImplementationLS implementation = (DOMImplementationLS) getDocumentBuilder().getDOMImplementation();
+        LSParser parser = implementation.createLSParser(DOMImplementationLS.MODE_SYNCHRONOUS, null);
+        parser.getDomConfig().setParameter("namespaces", false);
+        parser.getDomConfig().setParameter("entities", false);
+        parser.setFilter(new LSParserFilter() {
+            @Override
+            public short acceptNode(Node node) {
+                return isBlankText(node) ? FILTER_REJECT : FILTER_ACCEPT;
+            }
+
+            @Override
+            public short startElement(Element element) {
+                return FILTER_ACCEPT;
+            }
+
+            @Override
+            public int getWhatToShow() {
+                return NodeFilter.SHOW_TEXT | NodeFilter.SHOW_CDATA_SECTION;
+            }
+        });
+        return parser;
     }
 
 }
\ No newline at end of file
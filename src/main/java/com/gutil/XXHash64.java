@@ -0,0 +1,113 @@
+package com.gutil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming implementation of the XXH64 hash (seed 0). Input is processed in stripes of 32 bytes read as
+ * little-endian longs; bytes which do not fill a whole stripe are kept until the next update. Result is returned in
+ * the canonical (big-endian) form.
+ * @author Dariusz Gren
+ * @version 1.0
+ */
+class XXHash64 implements FileHashAlgorithm.Hasher {
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE_SIZE = 32;
+
+    private final ByteBuffer stripe = ByteBuffer.allocate(STRIPE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long accumulator1 = PRIME_1 + PRIME_2;
+    private long accumulator2 = PRIME_2;
+    private long accumulator3 = 0;
+    private long accumulator4 = -PRIME_1;
+    private long totalLength;
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        ByteBuffer input = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(buffer.limit());
+        totalLength += input.remaining();
+
+        if (stripe.position() > 0) {
+            int length = Math.min(stripe.remaining(), input.remaining());
+            stripe.put(stripe.position(), input, input.position(), length);
+            stripe.position(stripe.position() + length);
+            input.position(input.position() + length);
+            if (stripe.hasRemaining()) {
+                return;
+            }
+
+            stripe.flip();
+            processStripe(stripe);
+            stripe.clear();
+        }
+
+        while (input.remaining() >= STRIPE_SIZE) {
+            processStripe(input);
+        }
+
+        stripe.put(input);
+    }
+
+    @Override
+    public byte[] digest() {
+        long hash;
+        if (totalLength >= STRIPE_SIZE) {
+            hash = Long.rotateLeft(accumulator1, 1) + Long.rotateLeft(accumulator2, 7)
+                    + Long.rotateLeft(accumulator3, 12) + Long.rotateLeft(accumulator4, 18);
+            hash = mergeRound(hash, accumulator1);
+            hash = mergeRound(hash, accumulator2);
+            hash = mergeRound(hash, accumulator3);
+            hash = mergeRound(hash, accumulator4);
+        } else {
+            hash = PRIME_5;
+        }
+
+        hash += totalLength;
+        stripe.flip();
+        while (stripe.remaining() >= Long.BYTES) {
+            hash ^= round(0, stripe.getLong());
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+        }
+
+        if (stripe.remaining() >= Integer.BYTES) {
+            hash ^= (stripe.getInt() & 0xFFFFFFFFL) * PRIME_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME_2 + PRIME_3;
+        }
+
+        while (stripe.hasRemaining()) {
+            hash ^= (stripe.get() & 0xFFL) * PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        hash ^= hash >>> 32;
+        return ByteBuffer.allocate(Long.BYTES).putLong(hash).array();
+    }
+
+    private void processStripe(ByteBuffer input) {
+        accumulator1 = round(accumulator1, input.getLong());
+        accumulator2 = round(accumulator2, input.getLong());
+        accumulator3 = round(accumulator3, input.getLong());
+        accumulator4 = round(accumulator4, input.getLong());
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME_1 + PRIME_4;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncFileUtilTest {
+
+    @Test
+    public void fileOperationsTest() throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("asyncFileUtil");
+        try (AsyncFileUtil asyncFileUtil = new AsyncFileUtil()) {
+            File nested = directory.resolve("a").resolve("b").toFile();
+            asyncFileUtil.createDirectory(nested).get();
+            Assertions.assertTrue(nested.isDirectory());
+
+            File file = new File(nested, "file.txt");
+            asyncFileUtil.createFile(file).get();
+            Assertions.assertTrue(file.isFile());
+
+            byte[] content = "asynchronous content".getBytes(StandardCharsets.UTF_8);
+            asyncFileUtil.write(file, content).get();
+            Assertions.assertArrayEquals(content, asyncFileUtil.readAllBytes(file).get());
+            Assertions.assertEquals(content.length, asyncFileUtil.getFileSize(directory.toFile(), FileSizeUnit.BYTE).get());
+
+            Assertions.assertTrue(asyncFileUtil.renameFile(file, "renamed.txt").get());
+            File renamed = new File(nested, "renamed.txt");
+            Assertions.assertTrue(renamed.isFile());
+
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> asyncFileUtil.readAllBytes(file).get());
+            Assertions.assertInstanceOf(NoSuchFileException.class, exception.getCause());
+
+            asyncFileUtil.deleteFile(renamed).get();
+            Assertions.assertFalse(renamed.exists());
+            asyncFileUtil.deleteDirectory(directory.resolve("a").toFile()).get();
+            Assertions.assertFalse(nested.exists());
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void inFlightLimitTest() throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("asyncFileUtilLimit");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (AsyncFileUtil asyncFileUtil = new AsyncFileUtil(executor, 2)) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                writes.add(asyncFileUtil.write(directory.resolve(i + ".bin").toFile(), new byte[i]));
+                Assertions.assertTrue(asyncFileUtil.getRunningOperations() <= 2);
+            }
+
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get();
+            Assertions.assertEquals(4950, (long) FileUtil.getFileSize(directory.toFile(), FileSizeUnit.BYTE));
+            Assertions.assertEquals(0, asyncFileUtil.getRunningOperations());
+        } finally {
+            executor.shutdown();
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void failedStartTest() throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("asyncFileUtilFailure");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (AsyncFileUtil asyncFileUtil = new AsyncFileUtil(executor, 1)) {
+            File invalid = new File("invalid\0name");
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                    () -> asyncFileUtil.readAllBytes(invalid).get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(InvalidPathException.class, exception.getCause());
+            Assertions.assertThrows(ExecutionException.class, () -> asyncFileUtil.write(invalid, new byte[1]).get(5, TimeUnit.SECONDS));
+
+            File file = directory.resolve("valid.bin").toFile();
+            asyncFileUtil.write(file, new byte[] {1, 2}).get();
+            Assertions.assertArrayEquals(new byte[] {1, 2}, asyncFileUtil.readAllBytes(file).get());
+            Assertions.assertEquals(0, asyncFileUtil.getRunningOperations());
+        } finally {
+            executor.shutdown();
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+}
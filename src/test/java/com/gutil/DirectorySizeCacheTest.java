@@ -0,0 +1,67 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class DirectorySizeCacheTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void directorySizeTest(boolean useWatchService) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("directorySizeCache");
+        try (DirectorySizeCache cache = new DirectorySizeCache(DirectorySizeCache.DEFAULT_MAX_DIRECTORIES, useWatchService)) {
+            Path nested = Files.createDirectories(directory.resolve("a").resolve("b"));
+            Files.write(directory.resolve("root.bin"), new byte[100]);
+            Files.write(nested.resolve("nested.bin"), new byte[1024]);
+
+            Assertions.assertEquals(1124, (long) cache.getSize(directory.toFile(), FileSizeUnit.BYTE));
+            Assertions.assertEquals(1, cache.getSize(nested.toFile(), FileSizeUnit.KILOBYTE));
+            Assertions.assertEquals(3, cache.size());
+
+            Files.write(nested.resolve("added.bin"), new byte[1000]);
+            awaitSize(cache, directory.toFile(), 2124);
+
+            FileUtil.deleteDirectory(directory.resolve("a").toFile());
+            awaitSize(cache, directory.toFile(), 100);
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void evictionTest() throws IOException {
+        Path directory = Files.createTempDirectory("directorySizeCacheEviction");
+        try (DirectorySizeCache cache = new DirectorySizeCache(2, true)) {
+            for (int i = 0; i < 5; i++) {
+                Files.write(Files.createDirectories(directory.resolve("dir" + i)).resolve("file.bin"), new byte[10]);
+            }
+
+            Assertions.assertEquals(50, (long) cache.getSize(directory.toFile(), FileSizeUnit.BYTE));
+            Assertions.assertEquals(2, cache.size());
+            Assertions.assertEquals(50, (long) cache.getSize(directory.toFile(), FileSizeUnit.BYTE));
+            Assertions.assertEquals(10, (long) cache.getSize(directory.resolve("dir0").resolve("file.bin").toFile(), FileSizeUnit.BYTE));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    /**
+     * Waits until changes are noticed by the cache (events of the watch service are delivered asynchronously).
+     */
+    private static void awaitSize(DirectorySizeCache cache, File directory, long expectedSize) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((long) cache.getSize(directory, FileSizeUnit.BYTE) != expectedSize && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Assertions.assertEquals(expectedSize, (long) cache.getSize(directory, FileSizeUnit.BYTE));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+public class DirectorySnapshotTest {
+
+    @Test
+    public void snapshotAndDiffTest() throws IOException {
+        Path directory = Files.createTempDirectory("directorySnapshot");
+        try {
+            Path nested = Files.createDirectories(directory.resolve("a").resolve("b"));
+            Files.writeString(directory.resolve("kept.txt"), "kept");
+            Files.writeString(directory.resolve("touched.txt"), "touched");
+            Files.writeString(nested.resolve("modified.txt"), "before");
+            Files.writeString(nested.resolve("removed.txt"), "removed");
+
+            DirectorySnapshot plain = FileUtil.takeSnapshot(directory.toFile());
+            DirectorySnapshot hashed = FileUtil.takeSnapshot(directory.toFile(), FileHashAlgorithm.SHA_256);
+            Assertions.assertEquals(4, plain.size());
+            Assertions.assertEquals("a/b/modified.txt", plain.getPath(0));
+            Assertions.assertEquals(6, plain.getSize(plain.indexOf("a/b/modified.txt")));
+            Assertions.assertNull(plain.getHash(0));
+            Assertions.assertEquals(-1, plain.indexOf("missing.txt"));
+            Assertions.assertTrue(plain.diff(hashed).isEmpty());
+
+            Files.writeString(nested.resolve("modified.txt"), "after!");
+            Files.setLastModifiedTime(nested.resolve("modified.txt"), FileTime.fromMillis(plain.getLastModified(0) + 10_000));
+            Files.setLastModifiedTime(directory.resolve("touched.txt"), FileTime.fromMillis(plain.getLastModified(0) + 10_000));
+            Files.delete(nested.resolve("removed.txt"));
+            Files.writeString(directory.resolve("a").resolve("added.txt"), "added");
+
+            DirectoryDiff plainDiff = plain.diff(FileUtil.takeSnapshot(directory.toFile()));
+            Assertions.assertEquals(List.of("a/added.txt"), plainDiff.added());
+            Assertions.assertEquals(List.of("a/b/removed.txt"), plainDiff.removed());
+            Assertions.assertEquals(List.of("a/b/modified.txt", "touched.txt"), plainDiff.modified());
+
+            DirectorySnapshot updated = FileUtil.updateSnapshot(hashed, directory.toFile());
+            Assertions.assertEquals(FileHashAlgorithm.SHA_256, updated.getAlgorithm());
+            Assertions.assertArrayEquals(FileUtil.hash(directory.resolve("kept.txt").toFile(), FileHashAlgorithm.SHA_256),
+                    updated.getHash(updated.indexOf("kept.txt")));
+            Assertions.assertEquals(List.of("a/b/modified.txt"), hashed.diff(updated).modified());
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            updated.writeTo(output);
+            DirectorySnapshot read = DirectorySnapshot.readFrom(new ByteArrayInputStream(output.toByteArray()));
+            Assertions.assertEquals(updated.size(), read.size());
+            Assertions.assertTrue(updated.diff(read).isEmpty());
+            Assertions.assertEquals(updated.getLastModified(1), read.getLastModified(1));
+            Assertions.assertThrows(IOException.class, () -> DirectorySnapshot.readFrom(new ByteArrayInputStream(new byte[8])));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void largeDiffTest() {
+        DirectorySnapshot older = createSnapshot(0, 300_000, 1);
+        DirectorySnapshot newer = createSnapshot(100_000, 500_000, 2);
+
+        DirectoryDiff diff = older.diff(newer);
+        Assertions.assertEquals(100_000, diff.removed().size());
+        Assertions.assertEquals(200_000, diff.added().size());
+        Assertions.assertEquals(100_000, diff.modified().size());
+        Assertions.assertEquals(String.format("%07d", 0), diff.removed().get(0));
+        Assertions.assertEquals(String.format("%07d", 300_000), diff.added().get(0));
+        Assertions.assertEquals(String.format("%07d", 100_000), diff.modified().get(0));
+        Assertions.assertEquals(String.format("%07d", 299_998), diff.modified().get(diff.modified().size() - 1));
+    }
+
+    /**
+     * Creates snapshot of files with numeric names, where only files with even numbers are modified in the second
+     * generation.
+     */
+    private static DirectorySnapshot createSnapshot(int from, int to, int generation) {
+        int size = to - from;
+        String[] paths = new String[size];
+        long[] sizes = new long[size];
+        long[] lastModified = new long[size];
+        for (int i = 0; i < size; i++) {
+            paths[i] = String.format("%07d", from + i);
+            sizes[i] = from + i;
+            lastModified[i] = (from + i) % 2 == 0 ? generation : 0;
+        }
+
+        return new DirectorySnapshot(paths, sizes, lastModified, null, null);
+    }
+
+}
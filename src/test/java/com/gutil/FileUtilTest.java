@@ -8,7 +8,30 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 
 public class FileUtilTest {
 
@@ -89,4 +112,263 @@ public class FileUtilTest {
         );
     }
 
+    @Test
+    public void directorySizeAndDeletionTest() throws IOException {
+        Path directory = Files.createTempDirectory("directorySize");
+        long expectedSize = 0;
+        for (int i = 0; i < 10; i++) {
+            Path subDirectory = Files.createDirectories(directory.resolve("dir" + i).resolve("nested"));
+            for (int j = 0; j < 300; j++) {
+                Files.write(subDirectory.resolve("file" + j + ".bin"), new byte[i + j]);
+                expectedSize += i + j;
+            }
+        }
+        Files.createDirectory(directory.resolve("empty"));
+
+        Assertions.assertEquals(expectedSize, FileUtil.getFileSizeRoundUp(directory.toFile(), FileSizeUnit.BYTE));
+        Assertions.assertEquals(expectedSize, (long) FileUtil.getFileSizeParallel(directory.toFile(), FileSizeUnit.BYTE));
+        Assertions.assertEquals(FileUtil.getFileSize(directory.toFile(), FileSizeUnit.KILOBYTE), FileUtil.getFileSizeParallel(directory.toFile(), FileSizeUnit.KILOBYTE));
+        Assertions.assertEquals(5, FileUtil.getFileSizeParallel(directory.resolve("dir0").resolve("nested").resolve("file5.bin").toFile(), FileSizeUnit.BYTE));
+        Assertions.assertEquals(0, FileUtil.getFileSizeParallel(directory.resolve("missing").toFile(), FileSizeUnit.BYTE));
+
+        Assertions.assertThrows(IOException.class, () -> FileUtil.deleteDirectoryParallel(directory.resolve("dir0").resolve("nested").resolve("file0.bin").toFile()));
+        FileUtil.deleteDirectoryParallel(directory.toFile());
+        Assertions.assertFalse(FileUtil.exists(directory.toFile()));
+    }
+
+    @Test
+    public void copyAndMoveTest() throws IOException {
+        Path directory = Files.createTempDirectory("copyAndMove");
+        try {
+            byte[] content = new byte[3_000_000];
+            new Random(42).nextBytes(content);
+            Path source = directory.resolve("source").resolve("data.bin");
+            Files.createDirectories(source.getParent());
+            Files.write(source, content);
+            FileTime lastModified = FileTime.fromMillis(1_000_000_000_000L);
+            Files.setLastModifiedTime(source, lastModified);
+
+            File copy = directory.resolve("copies").resolve("copy.bin").toFile();
+            FileUtil.copyFile(source.toFile(), copy, true);
+            Assertions.assertArrayEquals(content, Files.readAllBytes(copy.toPath()));
+            Assertions.assertEquals(lastModified, Files.getLastModifiedTime(copy.toPath()));
+            Assertions.assertThrows(IOException.class, () -> FileUtil.copyFile(source.toFile(), copy));
+
+            File concatenated = directory.resolve("concatenated.bin").toFile();
+            FileUtil.concatenateFiles(concatenated, source.toFile(), copy);
+            Assertions.assertEquals(2L * content.length, concatenated.length());
+
+            for (int i = 0; i < 50; i++) {
+                Files.writeString(Files.createDirectories(directory.resolve("source").resolve("dir" + i % 5)).resolve("file" + i + ".txt"), "content " + i);
+            }
+            File directoryCopy = directory.resolve("sourceCopy").toFile();
+            File directoryParallelCopy = directory.resolve("sourceParallelCopy").toFile();
+            FileUtil.copyDirectory(directory.resolve("source").toFile(), directoryCopy, true);
+            FileUtil.copyDirectoryParallel(directory.resolve("source").toFile(), directoryParallelCopy, false);
+            Assertions.assertEquals(FileUtil.getFileSize(directory.resolve("source").toFile(), FileSizeUnit.BYTE), FileUtil.getFileSize(directoryCopy, FileSizeUnit.BYTE));
+            Assertions.assertEquals(FileUtil.getFileSize(directory.resolve("source").toFile(), FileSizeUnit.BYTE), FileUtil.getFileSize(directoryParallelCopy, FileSizeUnit.BYTE));
+            Assertions.assertEquals("content 17", Files.readString(directoryParallelCopy.toPath().resolve("dir2").resolve("file17.txt")));
+            Assertions.assertEquals(lastModified, Files.getLastModifiedTime(directoryCopy.toPath().resolve("data.bin")));
+
+            File moved = directory.resolve("moved").resolve("sourceMoved").toFile();
+            FileUtil.moveFile(directoryCopy, moved);
+            Assertions.assertFalse(directoryCopy.exists());
+            Assertions.assertEquals("content 17", Files.readString(moved.toPath().resolve("dir2").resolve("file17.txt")));
+            Assertions.assertThrows(IOException.class, () -> FileUtil.moveFile(copy, concatenated));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void mappedRecordsTest() throws IOException {
+        Path file = Files.createTempFile("mappedRecords", ".txt");
+        try {
+            Files.writeString(file, "first\r\nsecond\n\nfourth;x\nlast");
+            List<String> lines = new ArrayList<>();
+            FileUtil.forEachLine(file.toFile(), line -> lines.add(line.toString()));
+            Assertions.assertEquals(List.of("first", "second", "", "fourth;x", "last"), lines);
+
+            List<String> records = new ArrayList<>();
+            FileUtil.forEachRecord(file.toFile(), (byte) ';', record -> records.add(StandardCharsets.ISO_8859_1.decode(record).toString()));
+            Assertions.assertEquals(List.of("first\r\nsecond\n\nfourth", "x\nlast"), records);
+
+            List<String> fixedRecords = new ArrayList<>();
+            FileUtil.forEachFixedLengthRecord(file.toFile(), 10, record -> fixedRecords.add(StandardCharsets.ISO_8859_1.decode(record).toString()));
+            Assertions.assertEquals(List.of("first\r\nsec", "ond\n\nfourt", "h;x\nlast"), fixedRecords);
+
+            List<String> windowedRecords = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(file)) {
+                MappedRecordReader reader = new MappedRecordReader(channel, 0, channel.size(), (byte) '\n', 0, 4);
+                while (reader.next()) {
+                    windowedRecords.add(StandardCharsets.ISO_8859_1.decode(reader.record()).toString());
+                }
+            }
+            Assertions.assertEquals(List.of("first\r", "second", "", "fourth;x", "last"), windowedRecords);
+
+            StringBuilder content = new StringBuilder();
+            long expectedSum = 0;
+            for (int i = 0; i < 500_000; i++) {
+                content.append(i).append('\n');
+                expectedSum += i;
+            }
+            Files.writeString(file, content);
+            AtomicLong sum = new AtomicLong();
+            AtomicLong count = new AtomicLong();
+            FileUtil.forEachLineParallel(file.toFile(), line -> {
+                sum.addAndGet(Long.parseLong(line, 0, line.length(), 10));
+                count.incrementAndGet();
+            });
+            Assertions.assertEquals(500_000, count.get());
+            Assertions.assertEquals(expectedSum, sum.get());
+
+            Files.write(file, new byte[0]);
+            FileUtil.forEachLine(file.toFile(), line -> Assertions.fail("Empty file has no lines."));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void batchOperationsTest() throws IOException {
+        Path directory = Files.createTempDirectory("batchOperations");
+        try {
+            List<File> files = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                files.add(directory.resolve("dir" + (i % 10)).resolve("file" + i + ".txt").toFile());
+            }
+            files.add(files.get(0));
+
+            List<FileOperationResult> created = FileUtil.createFiles(files);
+            Assertions.assertEquals(1001, created.size());
+            Assertions.assertTrue(created.subList(0, 1000).stream().allMatch(FileOperationResult::isSuccess));
+            Assertions.assertEquals(files.get(0), created.get(1000).file());
+            Assertions.assertInstanceOf(FileAlreadyExistsException.class, created.get(1000).error());
+            Assertions.assertTrue(files.stream().allMatch(File::isFile));
+
+            Map<File, String> newNames = new LinkedHashMap<>();
+            newNames.put(files.get(1), "renamed.txt");
+            newNames.put(files.get(11), "file21.txt");
+            List<FileOperationResult> renamed = FileUtil.renameFiles(newNames);
+            Assertions.assertTrue(renamed.get(0).isSuccess());
+            Assertions.assertInstanceOf(FileAlreadyExistsException.class, renamed.get(1).error());
+            Assertions.assertTrue(directory.resolve("dir1").resolve("renamed.txt").toFile().isFile());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> FileUtil.renameFiles(Map.of(files.get(2), " ")));
+
+            List<FileOperationResult> deleted = FileUtil.deleteFiles(files);
+            Assertions.assertEquals(999, deleted.stream().filter(FileOperationResult::isSuccess).count());
+            Assertions.assertInstanceOf(NoSuchFileException.class, deleted.get(1).error());
+            Assertions.assertInstanceOf(NoSuchFileException.class, deleted.get(1000).error());
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void hashTest() throws IOException, NoSuchAlgorithmException {
+        Path directory = Files.createTempDirectory("hash");
+        try {
+            Path empty = Files.createFile(directory.resolve("empty.bin"));
+            Path small = Files.writeString(directory.resolve("small.txt"), "abc");
+            Path sentence = Files.writeString(Files.createDirectory(directory.resolve("nested")).resolve("sentence.txt"),
+                    "Nobody inspects the spammish repetition");
+            byte[] content = new byte[3 * 1_048_576 + 17];
+            new Random(7).nextBytes(content);
+            Path large = Files.write(directory.resolve("large.bin"), content);
+
+            Assertions.assertEquals("ef46db3751d8e999", HexFormat.of().formatHex(FileUtil.hash(empty.toFile(), FileHashAlgorithm.XXH64)));
+            Assertions.assertEquals("44bc2cf5ad770999", HexFormat.of().formatHex(FileUtil.hash(small.toFile(), FileHashAlgorithm.XXH64)));
+            Assertions.assertEquals("fbcea83c8a378bf1", HexFormat.of().formatHex(FileUtil.hash(sentence.toFile(), FileHashAlgorithm.XXH64)));
+            Assertions.assertEquals("352441c2", HexFormat.of().formatHex(FileUtil.hash(small.toFile(), FileHashAlgorithm.CRC32)));
+            Assertions.assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(content), FileUtil.hash(large.toFile(), FileHashAlgorithm.SHA_256));
+
+            CRC32C crc = new CRC32C();
+            crc.update(content);
+            Assertions.assertEquals(crc.getValue(), Long.parseLong(HexFormat.of().formatHex(FileUtil.hash(large.toFile(), FileHashAlgorithm.CRC32C)), 16));
+
+            FileHashAlgorithm.Hasher hasher = FileHashAlgorithm.XXH64.newHasher();
+            for (int position = 0; position < content.length; position += 13) {
+                hasher.update(ByteBuffer.wrap(content, position, Math.min(13, content.length - position)));
+            }
+            Assertions.assertArrayEquals(FileUtil.hash(large.toFile(), FileHashAlgorithm.XXH64), hasher.digest());
+
+            List<byte[]> chunks = FileUtil.hashChunks(large.toFile(), FileHashAlgorithm.MD5, 1_048_576);
+            Assertions.assertEquals(4, chunks.size());
+            Assertions.assertArrayEquals(MessageDigest.getInstance("MD5").digest(Arrays.copyOfRange(content, 1_048_576, 2 * 1_048_576)), chunks.get(1));
+            Assertions.assertEquals(1, FileUtil.hashChunks(empty.toFile(), FileHashAlgorithm.MD5, 1_048_576).size());
+            Assertions.assertEquals(1, FileUtil.hashChunks(large.toFile(), FileHashAlgorithm.MD5, Long.MAX_VALUE).size());
+            Path sparse = directory.resolve("sparse.bin");
+            try (FileChannel channel = FileChannel.open(sparse, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[1]), 3L * Integer.MAX_VALUE);
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> FileUtil.hashChunks(sparse.toFile(), FileHashAlgorithm.CRC32, 1));
+            Files.delete(sparse);
+
+            MessageDigest treeDigest = MessageDigest.getInstance("MD5");
+            chunks.forEach(treeDigest::update);
+            Assertions.assertArrayEquals(treeDigest.digest(), FileUtil.hashTree(large.toFile(), FileHashAlgorithm.MD5, 1_048_576));
+
+            SortedMap<String, String> manifest = FileUtil.hashDirectory(directory.toFile(), FileHashAlgorithm.XXH64);
+            Assertions.assertEquals(List.of("empty.bin", "large.bin", "nested/sentence.txt", "small.txt"), new ArrayList<>(manifest.keySet()));
+            Assertions.assertEquals("44bc2cf5ad770999", manifest.get("small.txt"));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void writeAtomicallyTest() throws IOException {
+        Path directory = Files.createTempDirectory("writeAtomically");
+        try {
+            File file = directory.resolve("nested").resolve("config.properties").toFile();
+            FileUtil.writeAtomically(file, "key=first", StandardCharsets.UTF_8, WriteDurability.FULL);
+            Assertions.assertEquals("key=first", Files.readString(file.toPath()));
+
+            Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-r-----"));
+            FileUtil.writeAtomically(file, "key=second".getBytes(StandardCharsets.UTF_8), WriteDurability.NONE);
+            Assertions.assertEquals("key=second", Files.readString(file.toPath()));
+            Assertions.assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())));
+
+            FileUtil.writeAtomically(file, new byte[0], WriteDurability.DATA);
+            Assertions.assertEquals(0, file.length());
+            Assertions.assertEquals(1, file.getParentFile().list().length);
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void findTest() throws IOException {
+        Path directory = Files.createTempDirectory("find");
+        try {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Path nested = Files.createDirectories(directory.resolve("dir" + i).resolve("sub"));
+                Files.write(nested.resolve("data" + i + ".xml"), new byte[i * 100]);
+                Files.writeString(directory.resolve("dir" + i).resolve("notes.txt"), "notes");
+                expected.add("dir" + i + File.separator + "sub" + File.separator + "data" + i + ".xml");
+            }
+            Files.createDirectories(directory.resolve(".git"));
+            Files.writeString(directory.resolve(".git").resolve("ignored.xml"), "ignored");
+            Files.writeString(directory.resolve("root.xml"), "root");
+
+            try (Stream<Path> found = FileUtil.find(directory.toFile(), FileSearch.glob("dir*/**.xml"))) {
+                Assertions.assertEquals(expected.stream().sorted().toList(),
+                        found.map(path -> directory.relativize(path).toString()).sorted().toList());
+            }
+
+            Assertions.assertEquals(22, FileUtil.find(directory.toFile(), "**.xml").count());
+            Assertions.assertEquals(21, FileUtil.find(directory.toFile(), FileSearch.glob("**.xml")
+                    .prune(path -> path.getFileName().toString().equals(".git"))).parallel().count());
+            Assertions.assertEquals(22, FileUtil.find(directory.toFile(), FileSearch.all().maxDepth(2)).count());
+            Assertions.assertEquals(0, FileUtil.find(directory.toFile(), FileSearch.all().maxDepth(0)).count());
+            Assertions.assertEquals(10, FileUtil.find(directory.toFile(), FileSearch.regex(".*\\.xml").minSize(1000).maxSize(1900)).parallel().count());
+            Assertions.assertEquals(0, FileUtil.find(directory.toFile(), FileSearch.all().modifiedAfter(Instant.now().plusSeconds(60))).count());
+            Assertions.assertEquals(42, FileUtil.find(directory.toFile(), FileSearch.all().modifiedBefore(Instant.now().plusSeconds(60))).parallel().count());
+            Assertions.assertThrows(IOException.class, () -> FileUtil.find(directory.resolve("root.xml").toFile(), "*"));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class FixedWidthRowFormatterTest {
+
+    private static final FixedWidthRowFormatter FORMATTER = new FixedWidthRowFormatter(
+            List.of(FixedWidthColumn.left(6), FixedWidthColumn.right(5, '0'), FixedWidthColumn.left(3)), "\n");
+
+    @Test
+    public void formatRowTest() {
+        Assertions.assertEquals(15, FORMATTER.getRowLength());
+        Assertions.assertEquals("Anna  00042PL \n", FORMATTER.format("Anna", "42", "PL"));
+        Assertions.assertEquals("      00000   \n", FORMATTER.format(null, "", null));
+        Assertions.assertEquals("abc123", new FixedWidthRowFormatter(FixedWidthColumn.left(3), FixedWidthColumn.left(3)).format("abc", "123"));
+
+        CharSequence[] row = new CharSequence[3];
+        StringBuilder builder = new StringBuilder();
+        CharBuffer chars = CharBuffer.allocate(FORMATTER.getRowLength() * 2);
+        for (int i = 0; i < 2; i++) {
+            row[0] = "row" + i;
+            row[1] = String.valueOf(i * 7);
+            row[2] = "X";
+            FORMATTER.formatRow(row, builder);
+            FORMATTER.formatRow(row, chars);
+        }
+        Assertions.assertEquals("row0  00000X  \nrow1  00007X  \n", builder.toString());
+        Assertions.assertEquals(builder.toString(), chars.flip().toString());
+    }
+
+    @Test
+    public void formatEncodedRowTest() {
+        ByteBuffer bytes = ByteBuffer.allocate(FORMATTER.getRowLength() * 2);
+        FORMATTER.formatRow(new CharSequence[] {"Łód", "7", "PL"}, bytes, StandardCharsets.UTF_8);
+        Assertions.assertEquals(15, bytes.position());
+        Assertions.assertEquals("Łód 00007PL \n", new String(bytes.array(), 0, 15, StandardCharsets.UTF_8));
+
+        FORMATTER.formatRow(new CharSequence[] {"Łód", "7", "PL"}, bytes, StandardCharsets.ISO_8859_1);
+        Assertions.assertEquals(30, bytes.position());
+        Assertions.assertEquals("?ód   00007PL \n", new String(bytes.array(), 15, 15, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void invalidValuesTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FORMATTER.format("Anna", "42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FORMATTER.format("Annabelle", "42", "PL"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> FORMATTER.formatRow(new CharSequence[] {"ŁŁŁŁ", "1", "PL"}, ByteBuffer.allocate(32), StandardCharsets.UTF_8));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FixedWidthColumn.left(-1));
+    }
+
+    @Test
+    public void rejectedRowTest() {
+        StringBuilder builder = new StringBuilder("first\n");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FORMATTER.formatRow(new CharSequence[] {"Anna", "42", "POLS"}, builder));
+        Assertions.assertEquals("first\n", builder.toString());
+
+        CharBuffer chars = CharBuffer.allocate(FORMATTER.getRowLength() + 5);
+        chars.put("first");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FORMATTER.formatRow(new CharSequence[] {"Anna", "123456", "PL"}, chars));
+        Assertions.assertEquals(5, chars.position());
+        Assertions.assertThrows(BufferOverflowException.class, () -> FORMATTER.formatRow(new CharSequence[] {"Anna", "42", "PL"}, CharBuffer.allocate(10)));
+
+        ByteBuffer bytes = ByteBuffer.allocate(FORMATTER.getRowLength() + 1);
+        bytes.put((byte) 'x');
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> FORMATTER.formatRow(new CharSequence[] {"Anna", "42", "ŁŁ"}, bytes, StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, bytes.position());
+        FixedWidthRowFormatter nonAsciiPad = new FixedWidthRowFormatter(FixedWidthColumn.left(3), FixedWidthColumn.right(3, '·'));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> nonAsciiPad.formatRow(new CharSequence[] {"ab", "1"}, bytes, StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, bytes.position());
+        ByteBuffer small = ByteBuffer.allocate(14);
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> FORMATTER.formatRow(new CharSequence[] {"Anna", "42", "PL"}, small, StandardCharsets.UTF_8));
+        Assertions.assertEquals(0, small.position());
+        FORMATTER.formatRow(new CharSequence[] {"Anna", "42", "PL"}, bytes, StandardCharsets.UTF_8);
+        Assertions.assertEquals("xAnna  00042PL \n", new String(bytes.array(), StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class RecordCodecTest {
+
+    private static final RecordCodec FIXED_WIDTH = RecordCodec.fixedWidth(
+            List.of(FixedWidthColumn.left(6), FixedWidthColumn.right(5, '0'), FixedWidthColumn.left(3)), true);
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void parseFixedWidthTest() {
+        RecordView view = FIXED_WIDTH.parse(ByteBuffer.wrap("Anna  00042PL \r".getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertEquals(3, view.getFieldCount());
+        Assertions.assertEquals("Anna  ", view.get(0).toString());
+        Assertions.assertEquals("Anna", view.getTrimmed(0).toString());
+        Assertions.assertEquals("42", view.getTrimmed(1).toString());
+        Assertions.assertEquals(42, view.getLong(1));
+        Assertions.assertEquals("PL ", view.getString(2, StandardCharsets.ISO_8859_1));
+        Assertions.assertEquals(5, view.getBytes(1).remaining());
+        Assertions.assertFalse(view.isBlank(2));
+
+        view = FIXED_WIDTH.parse(ByteBuffer.wrap("Bob   -0007".getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertEquals(-7, view.getLong(1));
+        Assertions.assertEquals("", view.get(2).toString());
+        Assertions.assertTrue(view.isBlank(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> FIXED_WIDTH.parse(ByteBuffer.allocate(0)).get(3));
+        RecordView invalid = FIXED_WIDTH.parse(ByteBuffer.wrap("Anna  00042PL ".getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.get(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.getTrimmed(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.getBytes(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.getLong(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.isBlank(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> invalid.getString(-1, StandardCharsets.UTF_8));
+        Assertions.assertEquals("Anna  00042PL ", invalid.toString());
+    }
+
+    @Test
+    public void parseDelimitedTest() {
+        RecordCodec codec = RecordCodec.delimited('|');
+        RecordView view = codec.parse(ByteBuffer.wrap(" a |9223372036854775807||-9223372036854775808|x".getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertEquals(5, view.getFieldCount());
+        Assertions.assertEquals(" a ", view.get(0).toString());
+        Assertions.assertEquals("a", view.getTrimmed(0).toString());
+        Assertions.assertEquals(Long.MAX_VALUE, view.getLong(1));
+        Assertions.assertTrue(view.isBlank(2));
+        Assertions.assertEquals(Long.MIN_VALUE, view.getLong(3));
+        Assertions.assertThrows(NumberFormatException.class, () -> view.getLong(4));
+        Assertions.assertThrows(NumberFormatException.class, () -> view.getLong(2));
+        Assertions.assertThrows(NumberFormatException.class,
+                () -> codec.parse(ByteBuffer.wrap("9223372036854775808".getBytes(StandardCharsets.ISO_8859_1))).getLong(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RecordCodec.delimited('\n'));
+
+        ByteBuffer record = ByteBuffer.wrap("aa,bbb,c".getBytes(StandardCharsets.ISO_8859_1));
+        ByteBuffer bytes = RecordCodec.delimited(',').parse(record).getBytes(0);
+        Assertions.assertEquals(0, bytes.position());
+        Assertions.assertEquals(2, bytes.remaining());
+        RecordView fresh = RecordCodec.delimited(',').parse(record);
+        Assertions.assertEquals(7, fresh.getBytes(2).position());
+        Assertions.assertEquals(1, fresh.getBytes(2).remaining());
+        Assertions.assertEquals('b', fresh.getBytes(1).get(3));
+        Assertions.assertEquals(3, fresh.getBytes(1).remaining());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> RecordCodec.delimited(',').parse(record).getBytes(3));
+    }
+
+    @Test
+    public void writeTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        FIXED_WIDTH.write(new CharSequence[] {"Anna", "42", "PL"}, buffer, StandardCharsets.ISO_8859_1);
+        RecordCodec.delimited(',').write(new CharSequence[] {"Łód", null, "1"}, buffer, StandardCharsets.UTF_8);
+        Assertions.assertEquals("Anna  00042PL \nŁód,,1\n", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RecordCodec.delimited(',').write(new CharSequence[] {"a,b"}, ByteBuffer.allocate(16), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rejectedRecordTest() throws IOException {
+        File file = new File(directory, "rejected.txt");
+        RecordCodec codec = RecordCodec.delimited(',');
+        try (RecordWriter writer = codec.openWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("x", "y");
+            Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write("ok", "z,w"));
+            writer.write("z", "w");
+        }
+        Assertions.assertEquals("x,y\nz,w\n", Files.readString(file.toPath()));
+
+        try (RecordWriter writer = FIXED_WIDTH.openWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("abcde", "1", "");
+            Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write("ab", "2", "long"));
+            writer.write("q", "3", "r");
+        }
+        Assertions.assertEquals("abcde 00001   \nq     00003r  \n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void readWriteFileTest() throws IOException {
+        File file = new File(directory, "records.txt");
+        RecordCodec codec = RecordCodec.delimited('\t');
+        try (RecordWriter writer = codec.openWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 100_000; i++) {
+                writer.write("name" + i, String.valueOf(i), i % 2 == 0 ? "even" : "");
+            }
+        }
+
+        long[] sum = new long[1];
+        List<String> names = new ArrayList<>();
+        codec.forEach(file, record -> {
+            Assertions.assertEquals(3, record.getFieldCount());
+            sum[0] += record.getLong(1);
+            if (names.size() < 3) {
+                names.add(record.get(0).toString());
+            }
+        });
+        Assertions.assertEquals(99_999L * 100_000 / 2, sum[0]);
+        Assertions.assertEquals(List.of("name0", "name1", "name2"), names);
+
+        try (RecordReader reader = codec.read(file)) {
+            Assertions.assertEquals("even", reader.next().get(2).toString());
+            Assertions.assertTrue(reader.next().isBlank(2));
+        }
+
+        File fixedFile = new File(directory, "fixed.dat");
+        RecordCodec fixed = RecordCodec.fixedWidth(List.of(FixedWidthColumn.left(4), FixedWidthColumn.right(3, '0')), false);
+        try (RecordWriter writer = fixed.openWriter(fixedFile, StandardCharsets.ISO_8859_1)) {
+            writer.write("ab", "1");
+            writer.write("cdef", "999");
+        }
+        Assertions.assertEquals("ab  001cdef999", Files.readString(fixedFile.toPath()));
+
+        try (RecordReader reader = fixed.read(fixedFile)) {
+            Assertions.assertEquals("ab", reader.next().getTrimmed(0).toString());
+            Assertions.assertEquals(999, reader.next().getLong(1));
+            Assertions.assertFalse(reader.hasNext());
+            Assertions.assertThrows(NoSuchElementException.class, reader::next);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+public class StringMatcherTest {
+
+    private static final StringMatcher MATCHER = StringMatcher.of("/api/v1/", "/api/v2/users", "/static/", ".css", ".js", "he", "she", "hers");
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "/api/v1/users, true, false, true",
+            "/api/v2/user, false, false, false",
+            "/api/v2/users/1.js, true, true, true",
+            "/static/app.css, true, true, true",
+            "ushers, false, true, true",
+            "hxrs, false, false, false",
+            "style.CSS, false, false, false",
+            "'', false, false, false",
+    })
+    public void matchTest(String text, boolean prefix, boolean suffix, boolean contains) {
+        Assertions.assertEquals(prefix, MATCHER.matchesPrefix(text));
+        Assertions.assertEquals(suffix, MATCHER.matchesSuffix(text));
+        Assertions.assertEquals(contains, MATCHER.containsAny(text));
+    }
+
+    @Test
+    public void specialCandidatesTest() {
+        Assertions.assertFalse(MATCHER.matchesPrefix(null));
+        Assertions.assertFalse(MATCHER.matchesSuffix(null));
+        Assertions.assertFalse(MATCHER.containsAny(null));
+
+        StringMatcher empty = StringMatcher.of();
+        Assertions.assertFalse(empty.matchesPrefix("text"));
+        Assertions.assertFalse(empty.matchesSuffix("text"));
+        Assertions.assertFalse(empty.containsAny("text"));
+
+        StringMatcher emptyCandidate = StringMatcher.of("");
+        Assertions.assertTrue(emptyCandidate.matchesPrefix(""));
+        Assertions.assertTrue(emptyCandidate.matchesSuffix("text"));
+        Assertions.assertTrue(emptyCandidate.containsAny(new StringBuilder("text")));
+
+        StringMatcher supplementary = StringMatcher.of("\uD83D\uDE00", "x\uD83D\uDE01");
+        Assertions.assertTrue(supplementary.matchesSuffix("a\uD83D\uDE00"));
+        Assertions.assertTrue(supplementary.matchesSuffix("ax\uD83D\uDE01"));
+        Assertions.assertFalse(supplementary.matchesSuffix("a\uD83D\uDE01"));
+        Assertions.assertTrue(supplementary.matchesPrefix("\uD83D\uDE00a"));
+        Assertions.assertTrue(supplementary.containsAny("a\uD83D\uDE00b"));
+    }
+
+    @Test
+    public void randomCandidatesTest() {
+        Random random = new Random(3);
+        List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            candidates.add(randomText(random, 1 + random.nextInt(6)));
+        }
+
+        StringMatcher matcher = StringMatcher.of(candidates);
+        String[] array = candidates.toArray(new String[0]);
+        for (int i = 0; i < 2_000; i++) {
+            String text = randomText(random, random.nextInt(12));
+            Assertions.assertEquals(StringUtil.startsWithAny(text, array), matcher.matchesPrefix(text), text);
+            Assertions.assertEquals(StringUtil.endsWithAny(text, array), matcher.matchesSuffix(text), text);
+            Assertions.assertEquals(candidates.stream().anyMatch(text::contains), matcher.containsAny(text), text);
+        }
+    }
+
+    @Test
+    public void ignoreCaseTest() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            StringMatcher matcher = StringMatcher.ofIgnoreCase("/API/", ".Html", "title", "Ärger");
+            Assertions.assertTrue(matcher.matchesPrefix("/api/users"));
+            Assertions.assertTrue(matcher.matchesSuffix("INDEX.HTML"));
+            Assertions.assertTrue(matcher.containsAny("A TITLE"));
+            Assertions.assertTrue(matcher.containsAny("kein äRGER"));
+            Assertions.assertFalse(matcher.containsAny("TITEL"));
+            Assertions.assertFalse(StringMatcher.of("/API/").matchesPrefix("/api/users"));
+
+            StringMatcher deseret = StringMatcher.ofIgnoreCase("\uD801\uDC28", "a\uD801\uDC00");
+            Assertions.assertTrue(deseret.matchesPrefix("\uD801\uDC00x"));
+            Assertions.assertTrue(deseret.matchesSuffix("x\uD801\uDC00"));
+            Assertions.assertTrue(deseret.matchesSuffix("xA\uD801\uDC28"));
+            Assertions.assertTrue(deseret.containsAny("xA\uD801\uDC28y"));
+            Assertions.assertFalse(deseret.matchesPrefix("\uD801\uDC01x"));
+            Assertions.assertTrue(StringUtil.startsWithAnyIgnoreCase("\uD801\uDC00x", "\uD801\uDC28"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void randomCandidatesIgnoreCaseTest() {
+        Random random = new Random(5);
+        List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            candidates.add(randomMixedCaseText(random, 1 + random.nextInt(5)));
+        }
+
+        StringMatcher matcher = StringMatcher.ofIgnoreCase(candidates);
+        String[] array = candidates.toArray(new String[0]);
+        for (int i = 0; i < 2_000; i++) {
+            String text = randomMixedCaseText(random, random.nextInt(10));
+            Assertions.assertEquals(StringUtil.startsWithAnyIgnoreCase(text, array), matcher.matchesPrefix(text), text);
+            Assertions.assertEquals(StringUtil.endsWithAnyIgnoreCase(text, array), matcher.matchesSuffix(text), text);
+        }
+    }
+
+    private static String randomMixedCaseText(Random random, int length) {
+        String text = randomText(random, length);
+        StringBuilder mixed = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            mixed.append(random.nextBoolean() ? Character.toUpperCase(text.charAt(i)) : text.charAt(i));
+        }
+
+        return mixed.toString();
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(4)));
+        }
+
+        return text.toString();
+    }
+
+}
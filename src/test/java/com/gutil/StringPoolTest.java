@@ -0,0 +1,67 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public class StringPoolTest {
+
+    @Test
+    public void internTest() {
+        StringPool pool = new StringPool(16);
+        String first = pool.intern(new StringBuilder("category"));
+        Assertions.assertEquals("category", first);
+        Assertions.assertSame(first, pool.intern("category"));
+        Assertions.assertSame(first, pool.intern("xcategoryx".toCharArray(), 1, 8));
+        Assertions.assertSame(first, pool.intern("[category]".getBytes(StandardCharsets.ISO_8859_1), 1, 8));
+        ByteBuffer buffer = ByteBuffer.wrap("category".getBytes(StandardCharsets.ISO_8859_1));
+        Assertions.assertSame(first, pool.intern(buffer));
+        Assertions.assertEquals(0, buffer.position());
+        Assertions.assertEquals("żółw", pool.intern("żółw"));
+        Assertions.assertEquals("é", pool.intern(new byte[] {(byte) 0xE9}, 0, 1));
+        Assertions.assertSame("", pool.intern(""));
+        Assertions.assertNull(pool.intern((CharSequence) null));
+
+        Assertions.assertEquals(4, pool.getHitCount());
+        Assertions.assertEquals(4, pool.getMissCount());
+        Assertions.assertEquals(0.5, pool.getHitRatio());
+        Assertions.assertEquals(4, pool.size());
+
+        pool.clear();
+        Assertions.assertEquals(0, pool.size());
+        Assertions.assertEquals(0, pool.getHitRatio());
+    }
+
+    @Test
+    public void boundedTest() {
+        StringPool pool = new StringPool(100);
+        Assertions.assertEquals(128, pool.getCapacity());
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals("value" + i, pool.intern("value" + i));
+        }
+        Assertions.assertTrue(pool.size() <= pool.getCapacity());
+        Assertions.assertEquals(10_000, pool.getMissCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+    }
+
+    @Test
+    public void concurrentTest() {
+        StringPool pool = new StringPool();
+        List<String> values = IntStream.range(0, 1_000).mapToObj(i -> "value" + i).toList();
+        ConcurrentHashMap<String, String> interned = new ConcurrentHashMap<>();
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            String value = pool.intern(new StringBuilder(values.get(i % values.size())));
+            Assertions.assertEquals(values.get(i % values.size()), value);
+            interned.putIfAbsent(value, value);
+        });
+        Assertions.assertEquals(100_000, pool.getHitCount() + pool.getMissCount());
+        Assertions.assertTrue(pool.getHitRatio() > 0.9);
+        Assertions.assertEquals(1_000, interned.size());
+    }
+
+}
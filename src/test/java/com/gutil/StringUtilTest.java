@@ -7,6 +7,13 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
 import java.util.stream.Stream;
 
 public class StringUtilTest {
@@ -31,6 +38,59 @@ public class StringUtilTest {
         Assertions.assertEquals("a", StringUtil.reverse("a"));
         Assertions.assertEquals("zyx", StringUtil.reverse("xyz"));
         Assertions.assertEquals("abba", StringUtil.reverse("abba"));
+        Assertions.assertEquals("", StringUtil.reverse(""));
+        Assertions.assertEquals("źdół", StringUtil.reverse("łódź"));
+        Assertions.assertEquals("ÿéa", StringUtil.reverse("aéÿ"));
+        Assertions.assertEquals("b\uD83D\uDE00a", StringUtil.reverse("a\uD83D\uDE00b"));
+        Assertions.assertEquals("\uD83D\uDE00", StringUtil.reverse("\uDE00\uD83D"));
+
+        char[] chars = "xa\uD83D\uDE00\uD83D\uDE01bx".toCharArray();
+        StringUtil.reverse(chars, 1, chars.length - 2);
+        Assertions.assertEquals("xb\uD83D\uDE01\uD83D\uDE00ax", new String(chars));
+        Assertions.assertEquals(">b\uD83D\uDE00a", StringUtil.reverse("a\uD83D\uDE00b", new StringBuilder(">")).toString());
+        for (String text : new String[] {"", "abc", "ąę\uD800\uDC00ź", "\uDC00\uD800x"}) {
+            Assertions.assertEquals(new StringBuilder(text).reverse().toString(), StringUtil.reverse(text));
+            Assertions.assertEquals(new StringBuilder(text).reverse().toString(), StringUtil.reverse(text, new StringBuilder()).toString());
+        }
+    }
+
+    @Test
+    public void transformTest() {
+        String lower = "already lower ż";
+        Assertions.assertSame(lower, StringUtil.toLowerCaseAscii(lower));
+        Assertions.assertEquals("mixed case é", StringUtil.toLowerCaseAscii("MiXeD CaSe é"));
+        Assertions.assertEquals("ŻóŁW é", StringUtil.toUpperCaseAscii("ŻóŁw é"));
+        Assertions.assertEquals("ABC ż", StringUtil.toUpperCaseAscii("abc ż"));
+        Assertions.assertEquals("TITLE", StringUtil.toUpperCaseAscii("title"));
+        Assertions.assertNull(StringUtil.toLowerCaseAscii((String) null));
+        Assertions.assertNull(StringUtil.toUpperCaseAscii((String) null));
+
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            Assertions.assertEquals("title", StringUtil.toLowerCaseAscii("TITLE"));
+            Assertions.assertEquals("istanbul", StringUtil.foldCase("ISTANBUL"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        String folded = "straße";
+        Assertions.assertSame(folded, StringUtil.foldCase(folded));
+        Assertions.assertEquals(StringUtil.foldCase("ŁÓDŹ"), StringUtil.foldCase("łódź"));
+        Assertions.assertEquals("\uD801\uDC28x", StringUtil.foldCase("\uD801\uDC00X"));
+        Assertions.assertEquals(">\uD801\uDC28x", StringUtil.foldCase("\uD801\uDC00X", new StringBuilder(">")).toString());
+        for (String text : new String[] {"Hello", "ΣΊΣΥΦΟΣ", "ǅ", "\uD801\uDC00"}) {
+            Assertions.assertEquals(text.length(), StringUtil.foldCase(text).length());
+            Assertions.assertTrue(text.equalsIgnoreCase(StringUtil.foldCase(text)));
+        }
+
+        String trimmed = "00042";
+        Assertions.assertEquals("42", StringUtil.trimLeading(trimmed, '0'));
+        Assertions.assertSame(trimmed, StringUtil.trimTrailing(trimmed, ' '));
+        Assertions.assertEquals("Anna", StringUtil.trimTrailing("Anna  ", ' '));
+        Assertions.assertEquals("", StringUtil.trimLeading("000", '0'));
+        Assertions.assertNull(StringUtil.trimTrailing(null, ' '));
+        Assertions.assertEquals("[a b]", StringUtil.strip(" \ta b\n", new StringBuilder("[")).append(']').toString());
     }
 
     @ParameterizedTest
@@ -93,4 +153,116 @@ public class StringUtilTest {
         );
     }
 
+    @Test
+    public void ignoreCaseLocaleIndependenceTest() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            Assertions.assertTrue(StringUtil.startsWithAnyIgnoreCase("TITLE", "x", "title"));
+            Assertions.assertTrue(StringUtil.endsWithAnyIgnoreCase("ID", "Id"));
+            Assertions.assertTrue(StringUtil.endsWithAnyIgnoreCase("STRASSE", "sse"));
+            Assertions.assertFalse(StringUtil.endsWithAnyIgnoreCase("ID", "longer than text"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void bulkBlankTest() {
+        String[] texts = {"text", null, "", " \t\n", "          x", "\u001F\u000B          "};
+        boolean[] expected = {false, true, true, true, false, true};
+        Assertions.assertArrayEquals(expected, StringUtil.isBlankBulk(texts));
+        Assertions.assertArrayEquals(expected, StringUtil.isBlankBulk(Arrays.asList(texts)));
+
+        Random random = new Random(11);
+        char[] alphabet = {' ', ' ', ' ', '\t', '\r', '\u001C', '\u00A0', 'x'};
+        for (int i = 0; i < 2_000; i++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = random.nextInt(10) == 0 ? alphabet[random.nextInt(alphabet.length)] : ' ';
+            }
+
+            String text = new String(chars);
+            byte[] bytes = ("ab" + text + "cd").getBytes(StandardCharsets.ISO_8859_1);
+            Assertions.assertEquals(text.isBlank(), StringUtil.isBlank(bytes, 2, chars.length), text);
+            Assertions.assertEquals(text.isBlank(), StringUtil.isBlank(chars, 0, chars.length), text);
+        }
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> StringUtil.isBlank(new byte[4], 2, 3));
+    }
+
+    @Test
+    public void asciiCaseConversionTest() {
+        Random random = new Random(13);
+        for (int i = 0; i < 2_000; i++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(256);
+            }
+
+            String text = new String(chars);
+            StringBuilder lower = new StringBuilder();
+            StringBuilder upper = new StringBuilder();
+            for (char character : chars) {
+                lower.append(character < 128 ? Character.toLowerCase(character) : character);
+                upper.append(character < 128 ? Character.toUpperCase(character) : character);
+            }
+
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            StringUtil.toLowerCaseAscii(bytes, 0, bytes.length);
+            Assertions.assertEquals(lower.toString(), new String(bytes, StandardCharsets.ISO_8859_1));
+            StringUtil.toUpperCaseAscii(bytes, 0, bytes.length);
+            Assertions.assertEquals(upper.toString(), new String(bytes, StandardCharsets.ISO_8859_1));
+
+            char[] copy = chars.clone();
+            StringUtil.toLowerCaseAscii(copy, 0, copy.length);
+            Assertions.assertEquals(lower.toString(), new String(copy));
+            StringUtil.toUpperCaseAscii(copy, 0, copy.length);
+            Assertions.assertEquals(upper.toString(), new String(copy));
+        }
+
+        byte[] partial = "HELLO WORLD".getBytes(StandardCharsets.US_ASCII);
+        StringUtil.toLowerCaseAscii(partial, 6, 5);
+        Assertions.assertEquals("HELLO world", new String(partial, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void bytePrefixTest() {
+        byte[] bytes = "xxGET /api/v1/users HTTP/1.1".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertTrue(StringUtil.startsWith(bytes, 2, bytes.length - 2, "GET /api/".getBytes(StandardCharsets.US_ASCII)));
+        Assertions.assertFalse(StringUtil.startsWith(bytes, 2, 5, "GET /api/".getBytes(StandardCharsets.US_ASCII)));
+        Assertions.assertFalse(StringUtil.startsWith(bytes, 0, bytes.length, "GET".getBytes(StandardCharsets.US_ASCII)));
+        Assertions.assertTrue(StringUtil.startsWithIgnoreCaseAscii(bytes, 2, bytes.length - 2, "get /API/V1/Users".getBytes(StandardCharsets.US_ASCII)));
+        Assertions.assertFalse(StringUtil.startsWithIgnoreCaseAscii(bytes, 2, bytes.length - 2, "get /API/V1/Usera".getBytes(StandardCharsets.US_ASCII)));
+        Assertions.assertFalse(StringUtil.startsWithIgnoreCaseAscii("[".getBytes(StandardCharsets.US_ASCII), 0, 1, "{".getBytes(StandardCharsets.US_ASCII)));
+
+        Assertions.assertArrayEquals(new boolean[] {true, false, false, true},
+                StringUtil.startsWithAnyBulk(new String[] {"/api/v1", "/static", null, "/health"}, "/api/", "/health"));
+    }
+
+    @Test
+    public void paddingIntoBuffersTest() {
+        StringBuilder builder = new StringBuilder("[");
+        StringUtil.padLeading("42", '0', 5, builder);
+        StringUtil.padTrailing(new StringBuilder("ab"), '.', 4, builder);
+        StringUtil.padTrailing(null, '_', 2, builder);
+        StringUtil.padLeading("too long", ' ', 3, builder);
+        Assertions.assertEquals("[00042ab..__too long", builder.toString());
+
+        CharBuffer chars = CharBuffer.allocate(10);
+        StringUtil.padLeading("x", '-', 3, chars);
+        StringUtil.padTrailing("yz", '-', 4, chars);
+        Assertions.assertEquals("--xyz--", chars.flip().toString());
+        Assertions.assertThrows(BufferOverflowException.class, () -> StringUtil.padLeading("x", '-', 11, CharBuffer.allocate(10)));
+
+        ByteBuffer bytes = ByteBuffer.allocate(32);
+        StringUtil.padLeading("zł", ' ', 5, bytes, StandardCharsets.UTF_8);
+        StringUtil.padTrailing("\uD83D\uDE00", '_', 6, bytes, StandardCharsets.UTF_8);
+        StringUtil.padTrailing("ą", '_', 2, bytes, StandardCharsets.ISO_8859_1);
+        Assertions.assertEquals("  zł\uD83D\uDE00__?_", new String(bytes.array(), 0, 5 + 6, StandardCharsets.UTF_8)
+                + new String(bytes.array(), 11, 2, StandardCharsets.ISO_8859_1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StringUtil.padLeading("x", 'ą', 3, ByteBuffer.allocate(4), StandardCharsets.UTF_8));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StringUtil.padLeading("x", ' ', 3, ByteBuffer.allocate(4), StandardCharsets.UTF_16));
+    }
+
 }
@@ -0,0 +1,204 @@
+package com.gutil;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WriteBehindOutputStreamTest {
+
+    @Test
+    public void bufferedAppendTest() throws IOException {
+        Path directory = Files.createTempDirectory("writeBehind");
+        File file = directory.resolve("nested").resolve("log.txt").toFile();
+        try {
+            try (WriteBehindOutputStream output = new WriteBehindOutputStream(file, 16, 60_000, WriteDurability.DATA)) {
+                output.write("first;".getBytes(StandardCharsets.UTF_8));
+                Assertions.assertEquals(0, file.length());
+
+                output.write("second;third;".getBytes(StandardCharsets.UTF_8));
+                Assertions.assertEquals(6, file.length());
+
+                output.write("a line longer than the buffer;".getBytes(StandardCharsets.UTF_8));
+                Assertions.assertEquals(49, file.length());
+
+                output.write('x');
+                output.flush();
+                Assertions.assertEquals(50, file.length());
+                output.write('y');
+            }
+
+            Assertions.assertEquals("first;second;third;a line longer than the buffer;xy", Files.readString(file.toPath()));
+            WriteBehindOutputStream closed = new WriteBehindOutputStream(file);
+            closed.close();
+            Assertions.assertThrows(IOException.class, () -> closed.write('z'));
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void intervalFlushTest() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("writeBehindInterval", ".txt");
+        try (WriteBehindOutputStream output = new WriteBehindOutputStream(file.toFile(), 1024, 50, WriteDurability.NONE)) {
+            output.write("appended".getBytes(StandardCharsets.UTF_8));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals("appended", Files.readString(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void failedWriteTest() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("writeBehindFailure", ".txt");
+        try {
+            FailingChannel channel = new FailingChannel(FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            try (WriteBehindOutputStream output = new WriteBehindOutputStream(channel, 16, 60_000, WriteDurability.NONE)) {
+                output.write("abc".getBytes(StandardCharsets.UTF_8));
+                channel.failures.set(1);
+                Assertions.assertThrows(IOException.class, output::flush);
+                output.write("def".getBytes(StandardCharsets.UTF_8));
+            }
+            Assertions.assertEquals("abcdef", Files.readString(file));
+
+            channel = new FailingChannel(FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            WriteBehindOutputStream output = new WriteBehindOutputStream(channel, 16, 20, WriteDurability.NONE);
+            channel.failures.set(1);
+            output.write("ghi".getBytes(StandardCharsets.UTF_8));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (channel.failures.get() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            IOException exception = Assertions.assertThrows(IOException.class, output::close);
+            Assertions.assertEquals("Injected failure.", exception.getMessage());
+            Assertions.assertEquals("abcdefghi", Files.readString(file));
+            Assertions.assertFalse(channel.isOpen());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Channel delegating to a file channel, which fails a given number of writes.
+     */
+    private static class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (failures.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                throw new IOException("Injected failure.");
+            }
+
+            return channel.write(source);
+        }
+
+        @Override
+        public int read(ByteBuffer destination) throws IOException {
+            return channel.read(destination);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+            return channel.read(destinations, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            return channel.write(sources, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return channel.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer destination, long position) throws IOException {
+            return channel.read(destination, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return channel.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+
+    }
+
+}
@@ -4,10 +4,27 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 public class XMLUtilTest {
 
@@ -65,4 +82,277 @@ public class XMLUtilTest {
         }
     }
 
+    @Test
+    public void streamElementsTest() throws IOException {
+        File file = Files.createTempFile("streamElements", ".xml").toFile();
+        try {
+            Files.writeString(file.toPath(), "<root version=\"2\"><record id=\"1\">first</record>"
+                    + "<group><record id=\"2\"><![CDATA[second]]></record></group><empty/></root>");
+
+            List<XMLStreamElement> elements = new ArrayList<>();
+            XMLUtil.readElements(file, elements::add);
+            Assertions.assertEquals(List.of("root", "record", "group", "record", "empty"), elements.stream().map(XMLStreamElement::name).toList());
+            Assertions.assertEquals(List.of(0, 1, 1, 2, 1), elements.stream().map(XMLStreamElement::depth).toList());
+            Assertions.assertEquals("2", elements.get(0).getAttribute("version"));
+            Assertions.assertFalse(elements.get(0).isLeaf());
+            Assertions.assertEquals("first", elements.get(1).text());
+            Assertions.assertEquals("second", elements.get(3).text());
+            Assertions.assertEquals("", elements.get(4).text());
+
+            try (Stream<XMLStreamElement> stream = XMLUtil.streamElements(file)) {
+                Assertions.assertEquals(List.of("1", "2"), stream.filter(element -> element.name().equals("record"))
+                        .map(element -> element.getAttribute("id")).toList());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void cachedTransformerTest() throws Exception {
+        Transformer transformer = XMLUtil.getDefaultTransformer(2);
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        Assertions.assertSame(transformer, XMLUtil.getDefaultTransformer(2));
+        Assertions.assertNotEquals("yes", transformer.getOutputProperty(OutputKeys.OMIT_XML_DECLARATION));
+        Assertions.assertEquals("yes", transformer.getOutputProperty(OutputKeys.INDENT));
+        Assertions.assertNotSame(transformer, XMLUtil.getDefaultTransformer(4));
+        Assertions.assertSame(XMLUtil.getDocumentBuilder(), XMLUtil.getDocumentBuilder());
+
+        Document document = XMLUtil.createNewDocumentWithRoot("root");
+        XMLUtil.getRootElement(document).appendChild(document.createElement("child"));
+        File file = Files.createTempFile("indent", ".xml").toFile();
+        try {
+            XMLUtil.saveDocument(document, file, 2);
+            Assertions.assertTrue(Files.readString(file.toPath()).contains(System.lineSeparator() + "  <child/>"));
+            XMLUtil.saveDocument(document, file, 4);
+            Assertions.assertTrue(Files.readString(file.toPath()).contains(System.lineSeparator() + "    <child/>"));
+            XMLUtil.saveDocument(document, file, 2);
+            Assertions.assertTrue(Files.readString(file.toPath()).contains(System.lineSeparator() + "  <child/>"));
+        } finally {
+            FileUtil.deleteFile(file);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Assertions.assertNotSame(transformer, executor.submit(() -> XMLUtil.getDefaultTransformer(2)).get());
+
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String rootTag = "root" + i;
+                results.add(executor.submit(() -> XMLUtil.toString(XMLUtil.createNewDocumentWithRoot(rootTag))));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" + System.lineSeparator() + "<root" + i + "/>", results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void documentWriterTest() throws IOException {
+        Document document = XMLUtil.createNewDocumentWithRoot("root");
+        Element child = document.createElement("child");
+        child.setAttribute("attr", "a&b");
+        document.getDocumentElement().appendChild(child);
+        Element nested = document.createElement("nested");
+        nested.appendChild(document.createElement("leaf"));
+        Element text = document.createElement("text");
+        text.setTextContent("<value>");
+        nested.appendChild(text);
+        document.getDocumentElement().appendChild(nested);
+
+        StringWriter output = new StringWriter();
+        try (XMLDocumentWriter writer = new XMLDocumentWriter(output, XMLUtil.DEFAULT_INDENT)) {
+            writer.startElement("root")
+                    .startElement("child").attribute("attr", "a&b").endElement()
+                    .startElement("nested")
+                    .startElement("leaf").endElement()
+                    .element("text", "<value>");
+            Assertions.assertThrows(IllegalStateException.class, () -> writer.attribute("late", "value"));
+        }
+        Assertions.assertEquals(XMLUtil.toString(document), output.toString().strip());
+
+        File file = Files.createTempFile("documentWriter", ".xml").toFile();
+        try {
+            try (XMLDocumentWriter writer = XMLUtil.openDocumentWriter(file)) {
+                writer.startElement("root").startElement("child").attribute("attr", "test");
+            }
+            File expectedDocumentFile = new File(XMLUtilTest.class.getResource("/ExpectedXMLDefaultTransformer.xml").getFile());
+            Assertions.assertEquals(XMLUtil.toString(XMLUtil.loadDocumentFromFile(expectedDocumentFile)), XMLUtil.toString(XMLUtil.loadDocumentFromFile(file)));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void stripWhitespaceTest() throws IOException {
+        File file = Files.createTempFile("stripWhitespace", ".xml").toFile();
+        try {
+            Files.writeString(file.toPath(), "<root>\n    <child attr=\"test\">\n    </child>\n    <text> a &amp; b </text>\n</root>");
+
+            Document document = XMLUtil.loadDocumentFromFile(file);
+            Node firstChild = document.getDocumentElement().getFirstChild();
+            String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" + System.lineSeparator() + "<root>" + System.lineSeparator()
+                    + "    <child attr=\"test\"/>" + System.lineSeparator() + "    <text> a &amp; b </text>" + System.lineSeparator() + "</root>";
+            Assertions.assertEquals(expected, XMLUtil.toString(document));
+            Assertions.assertSame(firstChild, document.getDocumentElement().getFirstChild());
+            Assertions.assertEquals(Node.TEXT_NODE, firstChild.getNodeType());
+
+            Document strippedDocument = XMLUtil.loadDocumentFromFile(file, true);
+            Element root = strippedDocument.getDocumentElement();
+            Assertions.assertEquals(2, root.getChildNodes().getLength());
+            Assertions.assertEquals("child", root.getFirstChild().getNodeName());
+            Assertions.assertFalse(root.getFirstChild().hasChildNodes());
+            Assertions.assertEquals(" a & b ", root.getLastChild().getTextContent());
+            Assertions.assertEquals(expected, XMLUtil.toString(strippedDocument));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void xpathTest() {
+        Document document = XMLUtil.createNewDocumentWithRoot("config");
+        for (int i = 1; i <= 3; i++) {
+            Element entry = document.createElement("entry");
+            entry.setAttribute("key", "key" + i);
+            entry.setTextContent(String.valueOf(i * 10));
+            document.getDocumentElement().appendChild(entry);
+        }
+
+        Assertions.assertEquals("20", XMLUtil.evaluateString(document, "/config/entry[@key='key2']"));
+        Assertions.assertEquals("", XMLUtil.evaluateString(document, "/config/missing"));
+        Assertions.assertEquals(30, XMLUtil.evaluateInt(document, "/config/entry[3]"));
+        Assertions.assertEquals(3, XMLUtil.evaluateInt(document, "count(//entry)"));
+        Assertions.assertThrows(NumberFormatException.class, () -> XMLUtil.evaluateInt(document, "/config/entry[1]/@key"));
+        Assertions.assertEquals("key1", XMLUtil.evaluateElement(document, "//entry").getAttribute("key"));
+        Assertions.assertNull(XMLUtil.evaluateElement(document, "//missing"));
+        Assertions.assertEquals(List.of("key2", "key3"), XMLUtil.evaluateElements(document.getDocumentElement(), "entry[. > 15]").stream()
+                .map(element -> element.getAttribute("key")).toList());
+        Assertions.assertSame(XMLUtil.compileXPath("//entry"), XMLUtil.compileXPath("//entry"));
+        Assertions.assertThrows(RuntimeException.class, () -> XMLUtil.compileXPath("//entry["));
+    }
+
+    @Test
+    public void loadDocumentsTest() throws IOException {
+        Path directory = Files.createTempDirectory("loadDocuments");
+        try {
+            for (int i = 0; i < 20; i++) {
+                Files.writeString(directory.resolve(String.format("doc%02d.xml", i)), "<root id=\"" + i + "\"/>");
+            }
+            Files.writeString(directory.resolve("doc20.XML"), "<root id=\"20\"");
+            Files.writeString(directory.resolve("notes.txt"), "<root/>");
+
+            List<XMLLoadResult> results = XMLUtil.loadDocumentsFromDirectory(directory.toFile());
+            Assertions.assertEquals(21, results.size());
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertTrue(results.get(i).isSuccess());
+                Assertions.assertEquals(String.valueOf(i), XMLUtil.getRootElement(results.get(i).document()).getAttribute("id"));
+            }
+            Assertions.assertFalse(results.get(20).isSuccess());
+            Assertions.assertNull(results.get(20).document());
+            Assertions.assertEquals("doc20.XML", results.get(20).file().getName());
+            Assertions.assertEquals(List.of(), XMLUtil.loadDocuments(List.of()));
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                AtomicInteger loaded = new AtomicInteger();
+                List<File> files = results.stream().map(XMLLoadResult::file).toList();
+                XMLUtil.loadDocuments(files, executor, 2, result -> {
+                    if (result.isSuccess()) {
+                        loaded.incrementAndGet();
+                    }
+                });
+                Assertions.assertEquals(20, loaded.get());
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            FileUtil.deleteDirectory(directory.toFile());
+        }
+
+        Path emptyDirectory = Files.createTempDirectory("loadDocuments");
+        try {
+            Assertions.assertTrue(XMLUtil.loadDocumentsFromDirectory(emptyDirectory.toFile()).isEmpty());
+        } finally {
+            FileUtil.deleteDirectory(emptyDirectory.toFile());
+        }
+    }
+
+    @Test
+    public void loadDocumentFromNioInputTest() throws IOException {
+        String content = "<root><child attr=\"test\"/></root>";
+        Assertions.assertEquals("test", XMLUtil.evaluateString(XMLUtil.loadDocumentFromBytes(content.getBytes(StandardCharsets.UTF_8)), "/root/child/@attr"));
+
+        ByteBuffer buffer = ByteBuffer.wrap(("garbage" + content).getBytes(StandardCharsets.UTF_8));
+        buffer.position("garbage".length());
+        Assertions.assertEquals("test", XMLUtil.evaluateString(XMLUtil.loadDocumentFromBuffer(buffer), "/root/child/@attr"));
+        Assertions.assertEquals("garbage".length(), buffer.position());
+
+        Path smallFile = Files.createTempFile("smallDocument", ".xml");
+        Path largeFile = Files.createTempFile("largeDocument", ".xml");
+        try {
+            Files.writeString(smallFile, content);
+            Assertions.assertEquals("test", XMLUtil.evaluateString(XMLUtil.loadDocumentFromPath(smallFile), "/root/child/@attr"));
+
+            try (XMLDocumentWriter writer = new XMLDocumentWriter(Files.newOutputStream(largeFile), 0)) {
+                writer.startElement("root");
+                for (int i = 0; i < 100_000; i++) {
+                    writer.startElement("record").attribute("id", String.valueOf(i)).endElement();
+                }
+            }
+            Assertions.assertTrue(Files.size(largeFile) > 1_048_576L);
+            Assertions.assertEquals(100_000, XMLUtil.evaluateInt(XMLUtil.loadDocumentFromPath(largeFile), "count(/root/record)"));
+            Assertions.assertThrows(RuntimeException.class, () -> XMLUtil.loadDocumentFromPath(largeFile.resolveSibling("missing.xml")));
+        } finally {
+            Files.delete(smallFile);
+            Files.delete(largeFile);
+        }
+    }
+
+    @Test
+    public void splitDocumentTest() throws IOException {
+        File file = Files.createTempFile("splitDocument", ".xml").toFile();
+        try {
+            try (XMLDocumentWriter writer = new XMLDocumentWriter(Files.newOutputStream(file.toPath()), 2)) {
+                writer.startElement("feed").attribute("xmlns:f", "urn:feed").startElement("header").endElement();
+                for (int i = 0; i < 1000; i++) {
+                    writer.startElement("f:record").attribute("id", String.valueOf(i)).element("value", String.valueOf(i * 2)).endElement();
+                }
+            }
+
+            List<Document> records = new ArrayList<>();
+            Assertions.assertEquals(1000, XMLUtil.splitDocument(file, "f:record", records::add));
+            Document record = records.get(7);
+            Assertions.assertEquals("7", record.getDocumentElement().getAttribute("id"));
+            Assertions.assertEquals("urn:feed", record.getDocumentElement().getAttribute("xmlns:f"));
+            Assertions.assertEquals(14, XMLUtil.evaluateInt(record, "/*/value"));
+            Assertions.assertEquals(0, XMLUtil.splitDocument(file, "record", records::add));
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                AtomicLong sum = new AtomicLong();
+                long count = XMLUtil.splitDocument(file, "f:record", fragment -> sum.addAndGet(XMLUtil.evaluateInt(fragment, "/*/value")), executor, 8);
+                Assertions.assertEquals(1000, count);
+                Assertions.assertEquals(999_000, sum.get());
+
+                RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> XMLUtil.splitDocument(file, "f:record", fragment -> {
+                    throw new IllegalStateException("broken record");
+                }, executor, 8));
+                Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+
+                AssertionError error = Assertions.assertThrows(AssertionError.class, () -> XMLUtil.splitDocument(file, "f:record", fragment -> {
+                    throw new AssertionError("failed record");
+                }, executor, 8));
+                Assertions.assertEquals("failed record", error.getMessage());
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
 }